@@ -0,0 +1,63 @@
+package com.example.dto;
+
+import com.example.model.Product;
+import com.example.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of a GET /api/products response body, per catalog size, with
+ * the same Jackson 3 mapper type the MVC message converters use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private List<ProductDTO> catalog;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(size);
+        for (Product product : SyntheticCatalog.products(size)) {
+            catalog.add(new ProductDTO(
+                    product.getId(),
+                    product.getName(),
+                    product.getQuantity(),
+                    product.getPrice(),
+                    product.getDescription(),
+                    product.getImage(),
+                    product.getBrand().getName(),
+                    product.getBrand().getId(),
+                    product.getCategory().getName(),
+                    product.getCategory().getId()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(catalog);
+    }
+}
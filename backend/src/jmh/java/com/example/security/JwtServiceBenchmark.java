@@ -0,0 +1,69 @@
+package com.example.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token costs paid on login and on every authenticated request. verify is
+ * what JwtAuthenticationFilter calls: after the first call for a token it is
+ * a cache hit. verifySignature forces the full HMAC check and claims parse a
+ * cache miss costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    // Default jwt.secret from application.yml
+    private static final String SECRET =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970337336763979244226452948404D635166546A576E5A7234753778214125442A";
+
+    private JwtService jwtService;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 10_000);
+        jwtService.init();
+
+        user = new AuthenticatedUser(1L, "john.doe@email.com", "", "ROLE_USER", 0,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String verifySignature() {
+        return jwtService.extractClaim(token, Claims::getSubject);
+    }
+}
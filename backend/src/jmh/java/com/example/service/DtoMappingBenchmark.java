@@ -0,0 +1,76 @@
+package com.example.service;
+
+import com.example.dto.BasketItemDTO;
+import com.example.dto.OrderDTO;
+import com.example.dto.ProductDTO;
+import com.example.model.Basket;
+import com.example.model.Order;
+import com.example.model.Product;
+import com.example.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping as the list endpoints do it, per list size. The
+ * services are plain instances: convertToDTO touches no collaborators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ProductService productService = new ProductService();
+    private final OrderService orderService = new OrderService();
+    private final BasketService basketService = new BasketService();
+
+    private List<Product> products;
+    private List<Order> orders;
+    private List<Basket> basket;
+
+    @Setup
+    public void setUp() {
+        products = SyntheticCatalog.products(size);
+        orders = SyntheticCatalog.orders(size);
+        basket = SyntheticCatalog.basket(size);
+    }
+
+    @Benchmark
+    public List<ProductDTO> products() {
+        return products.stream()
+                .map(productService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<OrderDTO> orders() {
+        return orders.stream()
+                .map(orderService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BasketItemDTO> basket() {
+        return basket.stream()
+                .map(basketService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.service;
+
+import com.example.BackendApplication;
+import com.example.dto.ProductDTO;
+import com.example.support.TestPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog search and filter through ProductService, against the embedded
+ * PostgreSQL server with a synthetic catalog of the given size on top of the
+ * seeded data. Unlike the other benchmarks this includes the repository, the
+ * query and the JDBC round trip. The reactive* variants run the same queries
+ * through ReactiveCatalogService over R2DBC and block for the whole list, so
+ * the two drivers and mapping paths compare like for like.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductQueryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ReactiveCatalogService reactiveCatalogService;
+    private Long brandId;
+    private Long categoryId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Arguments, not builder properties: those would lose to application.yml
+        context = new SpringApplicationBuilder(BackendApplication.class).run(
+                "--spring.datasource.url=" + TestPostgres.get().getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        productService = context.getBean(ProductService.class);
+        reactiveCatalogService = context.getBean(ReactiveCatalogService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("""
+                INSERT INTO products (name, quantity, price, description, brand_id, category_id)
+                SELECT 'Synthetic Product ' || g, g % 250, 5 + g % 95, 'Generated for ProductQueryBenchmark',
+                       b.ids[1 + g % array_length(b.ids, 1)], c.ids[1 + g % array_length(c.ids, 1)]
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(id ORDER BY id) ids FROM brands) b,
+                     (SELECT array_agg(id ORDER BY id) ids FROM categories) c
+                """, catalogSize);
+        jdbc.execute("ANALYZE products");
+        brandId = jdbc.queryForObject("SELECT MIN(id) FROM brands", Long.class);
+        categoryId = jdbc.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // Matches about 1% of the synthetic products ("product 99", "product 990".."999", ...)
+    @Benchmark
+    public List<ProductDTO> search() {
+        return productService.searchProducts("product 99");
+    }
+
+    @Benchmark
+    public List<ProductDTO> filterByBrand() {
+        return productService.filterProducts(brandId, null);
+    }
+
+    @Benchmark
+    public List<ProductDTO> filterByBrandAndCategory() {
+        return productService.filterProducts(brandId, categoryId);
+    }
+
+    @Benchmark
+    public List<ProductDTO> reactiveSearch() {
+        return reactiveCatalogService.searchProducts("product 99").collectList().block();
+    }
+
+    @Benchmark
+    public List<ProductDTO> reactiveFilterByBrand() {
+        return reactiveCatalogService.filterProducts(brandId, null).collectList().block();
+    }
+
+    @Benchmark
+    public List<ProductDTO> reactiveFilterByBrandAndCategory() {
+        return reactiveCatalogService.filterProducts(brandId, categoryId).collectList().block();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.support;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, e.g. from two commits:
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec -Djmh.main=com.example.support.JmhDiff \
+ *       -Djmh.args="before.json target/jmh-results.json"
+ *
+ * A change only counts when the scores differ by more than the two error
+ * margins combined. Exits with status 1 if any benchmark got slower.
+ */
+public final class JmhDiff {
+
+    private JmhDiff() {
+    }
+
+    record Score(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("usage: JmhDiff <before.json> <after.json>");
+            System.exit(2);
+        }
+        Map<String, Score> before = read(new File(args[0]));
+        Map<String, Score> after = read(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-90s %16s %16s %9s%n", "Benchmark", "Before", "After", "Change");
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            String name = entry.getKey();
+            Score now = entry.getValue();
+            Score was = before.get(name);
+            if (was == null) {
+                System.out.printf("%-90s %16s %16s %9s%n", name, "-", format(now), "new");
+                continue;
+            }
+            double change = (now.score() - was.score()) / was.score() * 100;
+            String verdict = "";
+            if (Math.abs(now.score() - was.score()) > was.error() + now.error()) {
+                // Throughput modes are better when higher, time modes when lower
+                boolean slower = now.mode().equals("thrpt") ? change < 0 : change > 0;
+                verdict = slower ? " slower" : " faster";
+                if (slower) {
+                    regressions.add(name);
+                }
+            }
+            System.out.printf("%-90s %16s %16s %+8.1f%%%s%n", name, format(was), format(now), change, verdict);
+        }
+        before.keySet().stream()
+                .filter(name -> !after.containsKey(name))
+                .forEach(name -> System.out.printf("%-90s %16s %16s %9s%n", name, format(before.get(name)), "-", "removed"));
+
+        if (!regressions.isEmpty()) {
+            System.out.println();
+            System.out.println(regressions.size() + " benchmark(s) slower beyond the error margin");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : JsonMapper.builder().build().readTree(file)) {
+            Map<String, String> params = new LinkedHashMap<>();
+            result.path("params").properties()
+                    .forEach(param -> params.put(param.getKey(), param.getValue().asString()));
+            String name = result.path("benchmark").asString()
+                    + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(name, new Score(
+                    result.path("mode").asString(),
+                    metric.path("score").asDouble(),
+                    // The string "NaN" when there were too few iterations to compute one
+                    metric.path("scoreError").asDouble(0),
+                    metric.path("scoreUnit").asString()));
+        }
+        return scores;
+    }
+
+    private static String format(Score score) {
+        return String.format("%.3f %s", score.score(), score.unit());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.support;
+
+import com.example.model.Address;
+import com.example.model.Basket;
+import com.example.model.Brand;
+import com.example.model.Category;
+import com.example.model.Order;
+import com.example.model.Product;
+import com.example.model.Role;
+import com.example.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the seeded data (a handful of brands and
+ * categories shared by many products), built without a database so the
+ * mapping and serialization benchmarks measure only the code under test.
+ * The same size always yields the same data.
+ */
+public final class SyntheticCatalog {
+
+    private static final int BRANDS = 10;
+    private static final int CATEGORIES = 8;
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<Product> products(int count) {
+        List<Brand> brands = new ArrayList<>();
+        for (int i = 1; i <= BRANDS; i++) {
+            Brand brand = new Brand("Brand " + i);
+            brand.setId((long) i);
+            brands.add(brand);
+        }
+        List<Category> categories = new ArrayList<>();
+        for (int i = 1; i <= CATEGORIES; i++) {
+            Category category = new Category("Category " + i);
+            category.setId((long) i);
+            categories.add(category);
+        }
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product(
+                    "Synthetic Product " + i,
+                    i % 250,
+                    5.0 + i % 95,
+                    "Generated product number " + i + " for benchmarks",
+                    "https://example.com/images/" + i + ".jpg",
+                    brands.get(i % BRANDS),
+                    categories.get(i % CATEGORIES));
+            product.setId((long) i);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static User user(long id) {
+        Role role = new Role("USER", "Regular customer");
+        role.setId(2L);
+        Address address = new Address("M5V2T6", "Canada", id + " Benchmark Street", "Ontario");
+        address.setId(id);
+        User user = new User("user" + id, "user" + id + "@example.com", "{noop}password",
+                role, "+1-416-555-0100", address);
+        user.setId(id);
+        return user;
+    }
+
+    public static List<Order> orders(int count) {
+        User user = user(1L);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Order order = new Order(user, user.getAddress(), 20.0 + i % 500);
+            order.setId((long) i);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    public static List<Basket> basket(int count) {
+        User user = user(1L);
+        List<Basket> lines = new ArrayList<>(count);
+        long id = 1;
+        for (Product product : products(count)) {
+            Basket line = new Basket(user, product, 1 + (int) (id % 5));
+            line.setId(id++);
+            lines.add(line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes a Dataset of the given scale factor through the PostgreSQL COPY
+ * protocol, each large table in parallel streams on separate connections.
+ * Rows are generated on the fly, never held in memory, and each stream has
+ * its own random generator seeded from the run seed, so a scale factor and
+ * seed always produce the same data.
+ *
+ * Distributions: product popularity is Zipfian (a few products are in most
+ * baskets), as are the number of products per brand and category and the
+ * number of orders per user. Basket sizes are geometric, prices log-normal,
+ * and order status follows order age.
+ *
+ * Ids are assigned here, past the current sequence values, and the
+ * sequences are moved past them afterwards so Hibernate's pooled ids never
+ * collide. Run it on its own with
+ *
+ *   mvn -Pload-test test-compile exec:exec -Dloadtest.main=com.example.loadtest.DataGenerator \
+ *       -Dloadtest.args="--scale=1 --jdbc-url=jdbc:postgresql://localhost:5332/postgres"
+ *
+ * against a database the application has already started on once (so
+ * Flyway and DataInitializer have run).
+ */
+public final class DataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** Orders are spread over this many days before now */
+    private static final int ORDER_HISTORY_DAYS = 730;
+
+    /** Largest basket; each basket owner has this many ids reserved */
+    private static final int MAX_BASKET_LINES = 20;
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final Dataset.Sizes sizes;
+    private final int streams;
+    private final long seed;
+
+    DataGenerator(String jdbcUrl, LoadTestOptions options) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = options.jdbcUsername;
+        this.password = options.jdbcPassword;
+        this.sizes = Dataset.Sizes.of(options.scale);
+        this.streams = options.loadStreams;
+        this.seed = options.randomSeed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.jdbcUrl == null) {
+            throw new IllegalArgumentException("--jdbc-url is required");
+        }
+        new DataGenerator(options.jdbcUrl, options).generate();
+    }
+
+    /** Id ranges of one run: each table's ids are first .. first + count - 1 */
+    private record Ids(long brands, long categories, long products, long addresses, long users, long baskets,
+            long orders, long userRoleId) {
+    }
+
+    void generate() throws SQLException, InterruptedException {
+        logger.info("Generating {} with {} streams", sizes, streams);
+        long started = System.nanoTime();
+        Ids ids = reserveIds();
+        ExecutorService pool = Executors.newFixedThreadPool(streams);
+        try {
+            // Each step only references rows committed by earlier steps
+            run(pool, "brands", 1, sizes.brands(), (random, from, to, out) -> brands(ids, from, to, out));
+            run(pool, "categories", 1, sizes.categories(), (random, from, to, out) -> categories(ids, from, to, out));
+            run(pool, "products", streams, sizes.products(), (random, from, to, out) -> products(ids, random, from, to, out));
+            run(pool, "addresses", streams, sizes.users(), (random, from, to, out) -> addresses(ids, random, from, to, out));
+            String passwordHash = new BCryptPasswordEncoder().encode(Dataset.PASSWORD);
+            run(pool, "users", streams, sizes.users(), (random, from, to, out) -> users(ids, passwordHash, from, to, out));
+            run(pool, "baskets", streams, sizes.basketUsers(), (random, from, to, out) -> baskets(ids, random, from, to, out));
+            run(pool, "orders", streams, sizes.orders(), (random, from, to, out) -> orders(ids, random, from, to, out));
+        } finally {
+            pool.shutdownNow();
+        }
+        finish(ids);
+        logger.info("Generated in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    // --- Rows. Each writes rows [from, to) of its table in COPY text format.
+
+    private void brands(Ids ids, long from, long to, Writer out) throws IOException {
+        for (long i = from; i < to; i++) {
+            // Names carry the id, so a second run does not collide with the first
+            row(out, ids.brands() + i, "Brand " + (ids.brands() + i));
+        }
+    }
+
+    private void categories(Ids ids, long from, long to, Writer out) throws IOException {
+        for (long i = from; i < to; i++) {
+            row(out, ids.categories() + i, "Category " + (ids.categories() + i));
+        }
+    }
+
+    private void products(Ids ids, SplittableRandom random, long from, long to, Writer out) throws IOException {
+        // Brands and categories get Zipfian shares of the catalog
+        Zipf brands = new Zipf(sizes.brands(), 0.8);
+        Zipf categories = new Zipf(sizes.categories(), 0.6);
+        for (long i = from; i < to; i++) {
+            String adjective = Dataset.ADJECTIVES.get(random.nextInt(Dataset.ADJECTIVES.size()));
+            String noun = Dataset.NOUNS.get(random.nextInt(Dataset.NOUNS.size()));
+            row(out,
+                    ids.products() + i,
+                    adjective + " " + noun + " " + (i + 1),
+                    100 + random.nextInt(9_900),
+                    price(random, 3.4, 0.9),
+                    Dataset.PRODUCT_DESCRIPTION_PREFIX + " " + adjective.toLowerCase() + " " + noun.toLowerCase()
+                            + " generated for benchmarking",
+                    "https://example.com/images/products/" + (i + 1) + ".jpg",
+                    ids.brands() + brands.sampleIndex(random),
+                    ids.categories() + categories.sampleIndex(random));
+        }
+    }
+
+    private void addresses(Ids ids, SplittableRandom random, long from, long to, Writer out) throws IOException {
+        for (long i = from; i < to; i++) {
+            row(out,
+                    ids.addresses() + i,
+                    "M" + random.nextInt(10) + "V" + random.nextInt(10) + "T" + random.nextInt(10),
+                    "Canada",
+                    (1 + random.nextInt(9_999)) + " Load Street",
+                    "Ontario");
+        }
+    }
+
+    private void users(Ids ids, String passwordHash, long from, long to, Writer out) throws IOException {
+        for (long i = from; i < to; i++) {
+            row(out,
+                    ids.users() + i,
+                    Dataset.USER_PREFIX + (ids.users() + i),
+                    Dataset.USER_PREFIX + (ids.users() + i) + "@example.com",
+                    passwordHash,
+                    ids.userRoleId(),
+                    "+1-416-555-" + String.format("%04d", i % 10_000),
+                    // User i owns address i
+                    ids.addresses() + i,
+                    0);
+        }
+    }
+
+    /** Rows [from, to) here are basket owners; user i's lines are numbered from i * MAX_BASKET_LINES */
+    private void baskets(Ids ids, SplittableRandom random, long from, long to, Writer out) throws IOException {
+        Zipf products = new Zipf(sizes.products(), Dataset.PRODUCT_POPULARITY_EXPONENT);
+        // Owners spread over all users rather than the first basketUsers of them
+        long stride = Math.max(1, sizes.users() / sizes.basketUsers());
+        Set<Integer> lines = new HashSet<>();
+        for (long i = from; i < to; i++) {
+            long user = ids.users() + Math.min(i * stride, sizes.users() - 1);
+            // Geometric, mean 3, capped so ids stay inside the owner's block
+            int size = Math.min(MAX_BASKET_LINES, 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(2.0 / 3)));
+            size = Math.min(size, sizes.products());
+            lines.clear();
+            while (lines.size() < size) {
+                // One line per product, as BasketService expects
+                lines.add(products.sampleIndex(random));
+            }
+            long line = i * MAX_BASKET_LINES;
+            for (int product : lines) {
+                row(out, ids.baskets() + line++, user, ids.products() + product, 1 + (random.nextInt(10) == 0 ? 1 : 0));
+            }
+        }
+    }
+
+    private void orders(Ids ids, SplittableRandom random, long from, long to, Writer out) throws IOException {
+        // A few loyal customers place many orders, most place a handful
+        Zipf users = new Zipf(sizes.users(), 0.7);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (long i = from; i < to; i++) {
+            int user = users.sampleIndex(random);
+            long ageMinutes = (long) (random.nextDouble() * ORDER_HISTORY_DAYS * 24 * 60);
+            row(out,
+                    ids.orders() + i,
+                    ids.users() + user,
+                    ids.addresses() + user,
+                    status(random, ageMinutes),
+                    price(random, 4.0, 0.7),
+                    TIMESTAMP.format(now.minusMinutes(ageMinutes)));
+        }
+    }
+
+    private static String status(SplittableRandom random, long ageMinutes) {
+        if (random.nextInt(100) < 3) {
+            return "CANCELLED";
+        }
+        long days = ageMinutes / (24 * 60);
+        return days < 1 ? "PENDING" : days < 3 ? "PROCESSING" : days < 7 ? "SHIPPED" : "DELIVERED";
+    }
+
+    // Log-normal, e.g. mu 3.4, sigma 0.9 has a median near 30
+    private static String price(SplittableRandom random, double mu, double sigma) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return String.format(Locale.ROOT, "%.2f", Math.max(0.99, Math.exp(mu + sigma * gaussian)));
+    }
+
+    // --- COPY plumbing
+
+    private interface RowWriter {
+        void write(SplittableRandom random, long from, long to, Writer out) throws IOException;
+    }
+
+    private static final String[] COLUMNS = {
+            "brands (id, name)",
+            "categories (id, name)",
+            "products (id, name, quantity, price, description, image, brand_id, category_id)",
+            "addresses (id, zip, country, street, province)",
+            "users (id, username, email, password, role_id, phone_number, address_id, token_version)",
+            "baskets (id, user_id, product_id, quantity)",
+            "orders (id, user_id, address_id, status, total, time_created)"
+    };
+
+    /**
+     * COPYs rows 0..count-1 of a table in up to parallelism streams and
+     * waits for all of them.
+     */
+    private void run(ExecutorService pool, String table, int parallelism, long count, RowWriter rows)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        String copy = "COPY " + columns(table) + " FROM STDIN";
+        int chunks = (int) Math.min(parallelism, count);
+        List<Future<?>> results = new ArrayList<>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            long from = count * chunk / chunks;
+            long to = count * (chunk + 1) / chunks;
+            SplittableRandom random = new SplittableRandom(seed * 31 + table.hashCode() * 17L + chunk);
+            results.add(pool.submit(() -> {
+                copy(copy, out -> rows.write(random, from, to, out));
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Loading " + table + " failed", e.getCause());
+            }
+        }
+        logger.info("{}: {} rows in {} ms", table, count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private interface CopyBody {
+        void write(Writer out) throws IOException;
+    }
+
+    private void copy(String sql, CopyBody body) throws SQLException, IOException {
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                // Durability of a throwaway dataset is not worth an fsync per commit
+                statement.execute("SET synchronous_commit = off");
+            }
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, 1 << 16);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), 1 << 16)) {
+                body.write(out);
+            } catch (IOException | RuntimeException e) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+
+    // One tab-separated line; the generated text never contains tabs, newlines or backslashes
+    private static void row(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write('\t');
+            }
+            out.write(String.valueOf(values[i]));
+        }
+        out.write('\n');
+    }
+
+    private static String columns(String table) {
+        for (String columns : COLUMNS) {
+            if (columns.startsWith(table + " ")) {
+                return columns;
+            }
+        }
+        throw new IllegalArgumentException(table);
+    }
+
+    // --- Ids and sequences
+
+    private Ids reserveIds() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            long userRoleId;
+            try (ResultSet role = statement.executeQuery("SELECT id FROM roles WHERE name = 'ROLE_USER'")) {
+                if (!role.next()) {
+                    throw new IllegalStateException("ROLE_USER missing; start the application on this database once first");
+                }
+                userRoleId = role.getLong(1);
+            }
+            return new Ids(
+                    firstFreeId(statement, "brands"),
+                    firstFreeId(statement, "categories"),
+                    firstFreeId(statement, "products"),
+                    firstFreeId(statement, "addresses"),
+                    firstFreeId(statement, "users"),
+                    firstFreeId(statement, "baskets"),
+                    firstFreeId(statement, "orders"),
+                    userRoleId);
+        }
+    }
+
+    /**
+     * Past both the table's ids and the ids Hibernate may already have taken
+     * from the sequence (pooled, so up to last_value).
+     */
+    private static long firstFreeId(Statement statement, String table) throws SQLException {
+        try (ResultSet result = statement.executeQuery(
+                "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM " + table + "), "
+                        + "(SELECT last_value FROM " + table + "_seq)) + 1")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private void finish(Ids ids) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            long basketIds = (long) sizes.basketUsers() * MAX_BASKET_LINES;
+            setSequence(statement, "brands", ids.brands() + sizes.brands());
+            setSequence(statement, "categories", ids.categories() + sizes.categories());
+            setSequence(statement, "products", ids.products() + sizes.products());
+            setSequence(statement, "addresses", ids.addresses() + sizes.users());
+            setSequence(statement, "users", ids.users() + sizes.users());
+            setSequence(statement, "baskets", ids.baskets() + basketIds);
+            setSequence(statement, "orders", ids.orders() + sizes.orders());
+            long started = System.nanoTime();
+            statement.execute("ANALYZE");
+            logger.info("ANALYZE in {} ms", (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Hibernate's pooled optimizer uses the block ending at the value nextval
+     * returns, so with the sequence at the last generated id the next block
+     * starts right after it.
+     */
+    private static void setSequence(Statement statement, String table, long nextFreeId) throws SQLException {
+        statement.execute("SELECT setval('" + table + "_seq', " + (nextFreeId - 1) + ")");
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The synthetic data DataGenerator writes, and the parts of it the load
+ * test reads back. Every generated user can log in with PASSWORD.
+ */
+final class Dataset {
+
+    static final String PASSWORD = "password123";
+
+    static final String USER_PREFIX = "load_";
+
+    /** Start of every generated product description, to tell them from the seeded ones */
+    static final String PRODUCT_DESCRIPTION_PREFIX = "Synthetic";
+
+    /** Product popularity, shared by the generated baskets and the load test's browsing */
+    static final double PRODUCT_POPULARITY_EXPONENT = 1.0;
+
+    static final List<String> ADJECTIVES = List.of(
+            "Classic", "Smart", "Compact", "Deluxe", "Eco", "Portable", "Vintage", "Ultra", "Wireless", "Premium");
+
+    /** Product nouns, which double as search terms */
+    static final List<String> NOUNS = List.of(
+            "Lamp", "Chair", "Headphones", "Backpack", "Kettle", "Jacket",
+            "Novel", "Blender", "Sneakers", "Puzzle", "Camera", "Tent");
+
+    /**
+     * Row counts for a scale factor. SF 1 is 100k products, 1M users (each
+     * with an address), 10M orders, 1000 brands and 200 categories. Catalog
+     * breadth grows slower than the catalog itself, as it does in real shops.
+     */
+    record Sizes(int brands, int categories, int products, int users, long orders, int basketUsers) {
+
+        static Sizes of(double scale) {
+            return new Sizes(
+                    (int) Math.max(10, Math.round(1_000 * Math.sqrt(scale))),
+                    (int) Math.max(8, Math.round(200 * Math.sqrt(scale))),
+                    (int) Math.max(1, Math.round(100_000 * scale)),
+                    (int) Math.max(1, Math.round(1_000_000 * scale)),
+                    Math.max(1, Math.round(10_000_000 * scale)),
+                    // One user in twenty has an open basket
+                    (int) Math.max(1, Math.round(50_000 * scale)));
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+
+    Dataset(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * What the shoppers need to build requests: the generated product ids in
+     * generation order (so Zipf.index picks the same hot products the
+     * generator did) and a fixed sample of the generated users.
+     */
+    Workload workload(int users) {
+        long[] productIds = jdbc.queryForList(
+                        "SELECT id FROM products WHERE description LIKE ? ORDER BY id",
+                        Long.class, PRODUCT_DESCRIPTION_PREFIX + "%").stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        List<Workload.User> sample = jdbc.query("""
+                SELECT id, email, address_id FROM users
+                WHERE username LIKE ? ORDER BY md5(id::text) LIMIT ?
+                """,
+                (row, i) -> new Workload.User(row.getLong("id"), row.getString("email"), row.getLong("address_id")),
+                USER_PREFIX + "%", users);
+        if (productIds.length == 0 || sample.isEmpty()) {
+            throw new IllegalStateException("No generated data found; run with --seed=true first");
+        }
+        return new Workload(productIds, sample);
+    }
+}
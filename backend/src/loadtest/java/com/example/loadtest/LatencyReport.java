@@ -0,0 +1,110 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms, in microseconds. Latency runs from the
+ * time a request was scheduled to start, not from when a worker got to it,
+ * so queueing behind a slow server is included (no coordinated omission).
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    // Replaced, not cleared, on reset so in-flight recordings cannot race it
+    private volatile Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void recordSuccess(String endpoint, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError(String endpoint) {
+        errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+    }
+
+    /** Drops everything recorded so far, e.g. at the end of the warmup */
+    void reset() {
+        histograms = new ConcurrentSkipListMap<>();
+        errors = new ConcurrentHashMap<>();
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        out.printf("%-28s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        histograms.forEach((endpoint, histogram) -> out.printf("%-28s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint,
+                histogram.getTotalCount(),
+                errorCount(endpoint),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    /**
+     * Writes summary.csv (one line per endpoint) and a full percentile
+     * distribution per endpoint as .hgrm, which HdrHistogram's plotter reads.
+     */
+    void write(Path directory, Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        StringBuilder csv = new StringBuilder("endpoint,count,errors,rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue();
+                csv.append(String.format("%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        entry.getKey(),
+                        histogram.getTotalCount(),
+                        errorCount(entry.getKey()),
+                        histogram.getTotalCount() / seconds,
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(90)),
+                        millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)),
+                        millis(histogram.getMaxValue())));
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(directory.resolve(fileName(entry.getKey()) + ".hgrm")))) {
+                    // Scale microseconds to milliseconds in the output
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            Files.writeString(directory.resolve("summary.csv"), csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the report to " + directory, e);
+        }
+    }
+
+    private long errorCount(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // "GET /api/products/{id}" -> "GET_api_products_id"
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("_$", "");
+    }
+}
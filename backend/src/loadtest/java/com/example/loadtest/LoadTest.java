@@ -0,0 +1,183 @@
+package com.example.loadtest;
+
+import com.example.BackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test. Requests arrive as a Poisson process at --rate
+ * per second whether or not earlier ones have finished, the way real users
+ * do; a slow server therefore builds a backlog that shows up in the
+ * latencies instead of quietly lowering the offered load.
+ *
+ * By default everything runs on this machine without Docker: an embedded
+ * PostgreSQL server, the application booted in this JVM on a random port,
+ * and DataGenerator loading it at --scale. With --target and --jdbc-url it drives
+ * an application started separately, which keeps the load generator out of
+ * the measured JVM.
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    /** Generated users the arrivals draw from; also the login pool */
+    private static final int USER_SAMPLE = 10_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String jdbcUrl = options.jdbcUrl;
+            if (jdbcUrl == null) {
+                postgres = EmbeddedPostgres.builder().start();
+                jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            }
+            String baseUrl = options.target;
+            if (baseUrl == null) {
+                application = startApplication(jdbcUrl, options);
+                baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            }
+
+            if (options.seed) {
+                new DataGenerator(jdbcUrl, options).generate();
+            }
+            Dataset dataset = new Dataset(new DriverManagerDataSource(jdbcUrl, options.jdbcUsername, options.jdbcPassword));
+            run(options, baseUrl, dataset.workload(USER_SAMPLE));
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String jdbcUrl, LoadTestOptions options) {
+        return new SpringApplicationBuilder(BackendApplication.class).run(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + options.jdbcUsername,
+                "--spring.datasource.password=" + options.jdbcPassword,
+                "--server.port=0",
+                "--rate-limit.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.example=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl, Workload workload) throws Exception {
+        LatencyReport report = new LatencyReport();
+
+        // Twice the workers, so a scenario rarely waits for a free session
+        int sessionCount = Math.min(workload.users().size(), options.concurrency * 2);
+        BlockingQueue<Shopper.Session> sessions = new ArrayBlockingQueue<>(sessionCount);
+        Shopper shopper = new Shopper(baseUrl, options.catalogPath, sessions, report);
+
+        ThreadPoolExecutor workers = (ThreadPoolExecutor) Executors.newFixedThreadPool(options.concurrency);
+        try {
+            logger.info("Logging in {} sessions", sessionCount);
+            List<Future<Shopper.Session>> logins = new ArrayList<>();
+            for (Workload.User user : workload.users().subList(0, sessionCount)) {
+                logins.add(workers.submit(() -> shopper.login(user)));
+            }
+            for (Future<Shopper.Session> login : logins) {
+                sessions.add(login.get());
+            }
+
+            SplittableRandom random = new SplittableRandom(options.randomSeed);
+            logger.info("Warming up for {} s at {} req/s", options.warmup.toSeconds(), options.rate);
+            drive(options, options.warmup, workload, random, shopper, workers);
+            report.reset();
+
+            logger.info("Measuring for {} s at {} req/s", options.duration.toSeconds(), options.rate);
+            long started = System.nanoTime();
+            int backlog = drive(options, options.duration, workload, random, shopper, workers);
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            System.out.println();
+            System.out.printf("Scale %s, %.0f req/s offered, %d workers, backlog at end %d%n",
+                    options.scale, options.rate, options.concurrency, backlog);
+            report.print(System.out, options.duration);
+            report.write(options.reportDir, options.duration);
+            System.out.println("Histograms written to " + options.reportDir.toAbsolutePath()
+                    + " (run took " + elapsed.toSeconds() + " s including drain)");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not log in the session users", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules arrivals for the given duration; each is handed to a worker at
+     * its scheduled time and timed from then.
+     *
+     * @return requests still queued for a worker when the duration ended
+     */
+    private static int drive(LoadTestOptions options, Duration duration, Workload workload, SplittableRandom random,
+            Shopper shopper, ThreadPoolExecutor workers) {
+        Scenario[] wheel = weightedWheel(options.mix);
+        long[] productIds = workload.productIds();
+        // The same hot products the generated baskets favour
+        Zipf popularity = new Zipf(productIds.length, Dataset.PRODUCT_POPULARITY_EXPONENT);
+        long meanGapNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+        long now = System.nanoTime();
+        long end = now + duration.toNanos();
+        long next = now;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            Shopper.Arrival arrival = new Shopper.Arrival(
+                    wheel[random.nextInt(wheel.length)],
+                    next,
+                    productIds[popularity.sampleIndex(random)],
+                    Dataset.NOUNS.get(random.nextInt(Dataset.NOUNS.size())),
+                    workload.users().get(random.nextInt(workload.users().size())));
+            workers.execute(() -> shopper.run(arrival));
+            // Exponential gaps make the arrivals a Poisson process
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+        return workers.getQueue().size();
+    }
+
+    // One slot per unit of weight, so a uniform pick follows the mix
+    private static Scenario[] weightedWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        return wheel.toArray(Scenario[]::new);
+    }
+}
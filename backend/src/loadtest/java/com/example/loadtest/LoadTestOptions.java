@@ -0,0 +1,94 @@
+package com.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, all given as --name=value.
+ */
+final class LoadTestOptions {
+
+    /** Dataset size, see Dataset.Sizes */
+    double scale = 0.01;
+
+    /** Mean arrivals per second; arrivals are Poisson, independent of responses */
+    double rate = 100;
+
+    Duration warmup = Duration.ofSeconds(30);
+    Duration duration = Duration.ofSeconds(60);
+
+    /** Worker threads, i.e. the most requests in flight at once */
+    int concurrency = 64;
+
+    /** Scenario weights, e.g. browse:50,search:20,basket:15,login:5,checkout:10 */
+    Map<Scenario, Integer> mix = Scenario.defaultMix();
+
+    /** Run against this already started application instead of booting one */
+    String target;
+
+    /** Use this database instead of starting an embedded one */
+    String jdbcUrl;
+    String jdbcUsername = "postgres";
+    String jdbcPassword = "";
+
+    /** Skip seeding, e.g. when reusing a database from an earlier run */
+    boolean seed = true;
+
+    /** Parallel COPY streams DataGenerator loads each large table with */
+    int loadStreams = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /** Catalog reads (browse, search) go to "/api" or, for the R2DBC mirror, "/api/reactive" */
+    String catalogPath = "/api";
+
+    long randomSeed = 42;
+
+    Path reportDir = Path.of("target", "loadtest");
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "scale" -> options.scale = Double.parseDouble(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "target" -> options.target = value;
+                case "jdbc-url" -> options.jdbcUrl = value;
+                case "jdbc-username" -> options.jdbcUsername = value;
+                case "jdbc-password" -> options.jdbcPassword = value;
+                case "seed" -> options.seed = Boolean.parseBoolean(value);
+                case "load-streams" -> options.loadStreams = Integer.parseInt(value);
+                case "catalog-api" -> options.catalogPath = switch (value) {
+                    case "mvc" -> "/api";
+                    case "reactive" -> "/api/reactive";
+                    default -> throw new IllegalArgumentException("--catalog-api is mvc or reactive, got: " + value);
+                };
+                case "random-seed" -> options.randomSeed = Long.parseLong(value);
+                case "report-dir" -> options.reportDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.target != null && options.jdbcUrl == null) {
+            throw new IllegalArgumentException("--target needs --jdbc-url of the database the application uses");
+        }
+        return options;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Scenario.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One arrival of the open-loop workload. Each scenario issues one or more
+ * requests; see Shopper for what exactly.
+ */
+enum Scenario {
+
+    /** GET /api/products/{id} */
+    BROWSE,
+
+    /** GET /api/products/search?name= */
+    SEARCH,
+
+    /** POST /api/basket */
+    BASKET,
+
+    /** POST /api/auth/login */
+    LOGIN,
+
+    /** POST /api/basket, then POST /api/orders */
+    CHECKOUT;
+
+    static Map<Scenario, Integer> defaultMix() {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        mix.put(BROWSE, 50);
+        mix.put(SEARCH, 20);
+        mix.put(BASKET, 15);
+        mix.put(LOGIN, 5);
+        mix.put(CHECKOUT, 10);
+        return mix;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Turns a planned arrival into HTTP requests against the real controllers.
+ * Signed-in scenarios borrow a session from the pool for their whole run, so
+ * no two requests change the same basket at once.
+ */
+final class Shopper {
+
+    /** A signed-in user */
+    record Session(Workload.User user, String token) {
+    }
+
+    /** Everything random about one arrival, drawn up front from the seeded generator */
+    record Arrival(Scenario scenario, long scheduledNanos, long productId, String searchTerm, Workload.User user) {
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private final String baseUrl;
+    private final String catalogPath;
+    private final BlockingQueue<Session> sessions;
+    private final LatencyReport report;
+
+    Shopper(String baseUrl, String catalogPath, BlockingQueue<Session> sessions, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.catalogPath = catalogPath;
+        this.sessions = sessions;
+        this.report = report;
+    }
+
+    void run(Arrival arrival) {
+        try {
+            switch (arrival.scenario()) {
+                case BROWSE -> send("GET " + catalogPath + "/products/{id}", arrival.scheduledNanos(),
+                        get(catalogPath + "/products/" + arrival.productId()));
+                case SEARCH -> send("GET " + catalogPath + "/products/search", arrival.scheduledNanos(),
+                        get(catalogPath + "/products/search?name=" + URLEncoder.encode(arrival.searchTerm(), StandardCharsets.UTF_8)));
+                case LOGIN -> send("POST /api/auth/login", arrival.scheduledNanos(),
+                        post("/api/auth/login", null, Map.of("email", arrival.user().email(), "password", Dataset.PASSWORD)));
+                case BASKET -> withSession(session -> addToBasket(session, arrival, arrival.scheduledNanos()));
+                case CHECKOUT -> withSession(session -> {
+                    if (addToBasket(session, arrival, arrival.scheduledNanos())) {
+                        send("POST /api/orders", System.nanoTime(), post("/api/orders", session.token(),
+                                Map.of("userId", session.user().id(), "addressId", session.user().addressId())));
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Logs the user in; used to fill the session pool before the run.
+     */
+    Session login(Workload.User user) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+                post("/api/auth/login", null, Map.of("email", user.email(), "password", Dataset.PASSWORD)),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + user.email() + ": " + response.statusCode());
+        }
+        return new Session(user, mapper.readTree(response.body()).path("token").asString());
+    }
+
+    private boolean addToBasket(Session session, Arrival arrival, long startNanos) throws InterruptedException {
+        return send("POST /api/basket", startNanos, post("/api/basket", session.token(),
+                Map.of("userId", session.user().id(), "productId", arrival.productId(), "quantity", 1)));
+    }
+
+    private interface SessionAction {
+        void run(Session session) throws InterruptedException;
+    }
+
+    private void withSession(SessionAction action) throws InterruptedException {
+        Session session = sessions.take();
+        try {
+            action.run(session);
+        } finally {
+            sessions.put(session);
+        }
+    }
+
+    /**
+     * Sends the request and records its latency from startNanos.
+     *
+     * @return whether the response was 2xx
+     */
+    private boolean send(String endpoint, long startNanos, HttpRequest request) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                report.recordSuccess(endpoint, startNanos);
+                return true;
+            }
+        } catch (IOException e) {
+            // Connection refused, reset or timed out: counted like an error status
+        }
+        report.recordError(endpoint);
+        return false;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, ?> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
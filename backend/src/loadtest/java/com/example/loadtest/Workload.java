@@ -0,0 +1,12 @@
+package com.example.loadtest;
+
+import java.util.List;
+
+/**
+ * Ids the shoppers draw from when building requests.
+ */
+record Workload(long[] productIds, List<User> users) {
+
+    record User(long id, String email, long addressId) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-distributed ranks 1..n, P(k) proportional to 1 / k^exponent, drawn in
+ * constant time by rejection-inversion (Hörmann and Derflinger, 1996), so n
+ * can be in the millions without a lookup table.
+ *
+ * Rank 1 is the most popular. index() spreads ranks over 0..n-1 so that
+ * popularity is not correlated with insertion order (and hence with id,
+ * brand or category).
+ */
+final class Zipf {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    Zipf(int n, double exponent) {
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("Need n >= 1 and exponent > 0");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /** A rank in 1..n */
+    int sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.max(1, Math.min(n, x + 0.5));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /** A 0-based index whose popularity follows the distribution */
+    int sampleIndex(SplittableRandom random) {
+        return index(sample(random), n);
+    }
+
+    /**
+     * Maps rank 1..n to an index 0..n-1 with a fixed bijection: multiplying
+     * by a prime that does not divide n permutes the residues mod n.
+     */
+    static int index(int rank, int n) {
+        long prime = n % 1_000_003 == 0 ? 999_983 : 1_000_003;
+        return (int) ((rank - 1) * prime % n);
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            // Rounding can push t just past the pole
+            t = -1;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    // log(1 + x) / x, accurate near 0
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    // (exp(x) - 1) / x, accurate near 0
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded in-process cache whose entries expire, for the small caches in
+ * front of the database and the JWT parser.
+ *
+ * Entries expire {@code ttlMillis} after they were written, or at an explicit
+ * time given to {@link #put(Object, Object, long)}. Expired entries are dropped
+ * when they are read and when the cache is full. A full cache first drops its
+ * expired entries; if that is not enough it drops an arbitrary tenth, so the
+ * next inserts do not each trigger another sweep. The eviction listener is
+ * called for entries that expire or are dropped to make room, never for
+ * {@link #remove} or {@link #clear}. It runs while the key's map bin is
+ * locked, so it cannot interleave with a write of a new value for that key.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final BiConsumer<K, V> evictionListener;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BoundedCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, (key, value) -> { });
+    }
+
+    public BoundedCache(int maxSize, long ttlMillis, BiConsumer<K, V> evictionListener) {
+        this(maxSize, ttlMillis, evictionListener, System::currentTimeMillis);
+    }
+
+    BoundedCache(int maxSize, long ttlMillis, BiConsumer<K, V> evictionListener, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1, was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.evictionListener = evictionListener;
+        this.clock = clock;
+    }
+
+    /**
+     * The live value for the key, or null if there is none or it has expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            evict(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        long now = clock.getAsLong();
+        put(key, value, now, now + ttlMillis);
+    }
+
+    /**
+     * Store a value that expires at the given time (epoch millis) rather than
+     * after the cache's TTL.
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        put(key, value, clock.getAsLong(), expiresAtMillis);
+    }
+
+    /**
+     * Return the live value for the key, or store the one computed by the
+     * mapping function. The function runs while the key's map bin is locked,
+     * so it must not block: load the value beforehand and let the function
+     * decide whether it may still be stored. It may return null to store
+     * nothing.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        long now = clock.getAsLong();
+        makeRoom(now);
+        Entry<V> entry = entries.compute(key, (k, existing) -> {
+            if (existing != null) {
+                if (!existing.isExpired(now)) {
+                    return existing;
+                }
+                evictionListener.accept(k, existing.value());
+            }
+            V value = mappingFunction.apply(k);
+            return value == null ? null : new Entry<>(value, now + ttlMillis);
+        });
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * Update a live value in place, keeping its expiry time. The function
+     * runs while the key's map bin is locked and may return null to remove
+     * the entry.
+     */
+    public void computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        long now = clock.getAsLong();
+        entries.computeIfPresent(key, (k, existing) -> {
+            if (existing.isExpired(now)) {
+                evictionListener.accept(k, existing.value());
+                return null;
+            }
+            V value = remappingFunction.apply(k, existing.value());
+            if (value == null) {
+                return null;
+            }
+            return value == existing.value() ? existing : new Entry<>(value, existing.expiresAt());
+        });
+    }
+
+    public boolean containsKey(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && !entry.isExpired(clock.getAsLong());
+    }
+
+    /**
+     * Remove the entry for the key, returning its value (live or expired).
+     */
+    public V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry == null ? null : entry.value();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(K key, V value, long now, long expiresAtMillis) {
+        makeRoom(now);
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+            if (candidate.getValue().isExpired(now)) {
+                evict(candidate.getKey(), candidate.getValue());
+            }
+        }
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> candidate = iterator.next();
+            if (evict(candidate.getKey(), candidate.getValue())) {
+                excess--;
+            }
+        }
+    }
+
+    // Only if the key still maps to the same entry, so a concurrent write is kept
+    private boolean evict(K key, Entry<V> entry) {
+        boolean[] evicted = new boolean[1];
+        entries.computeIfPresent(key, (k, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            evictionListener.accept(k, current.value());
+            evicted[0] = true;
+            return null;
+        });
+        return evicted[0];
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
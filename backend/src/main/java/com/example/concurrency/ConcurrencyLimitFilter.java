@@ -0,0 +1,161 @@
+package com.example.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of /api requests in flight at what the HikariCP pools can
+ * serve (by default the sum of their maximum-pool-size).
+ *
+ * A fixed Tomcat pool used to be the cap. With virtual threads there is none,
+ * and every request would go on to wait for a connection inside HikariCP,
+ * holding whatever it had acquired so far and failing only after the pool's
+ * connection timeout. Here requests wait first, in arrival order, for up to
+ * {@code concurrency-limit.max-wait}, and are then turned away with 503.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final int limit;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitFilter(
+            @Value("${concurrency-limit.enabled}") boolean enabled,
+            @Value("${concurrency-limit.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${concurrency-limit.max-wait}") long maxWaitMillis,
+            List<DataSource> dataSources,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWaitMillis;
+        this.limit = !enabled ? 0
+                : maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize(dataSources);
+        // Fair, so the requests that have waited longest go first
+        this.permits = new Semaphore(limit, true);
+        this.waitTimer = Timer.builder("http.server.requests.queued")
+                .description("Time /api requests waited for a slot under the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getServletPath().startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long started = System.nanoTime();
+        boolean acquired = permits.tryAcquire();
+        if (!acquired) {
+            try {
+                acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(503);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", 503);
+        body.put("error", "Service Unavailable");
+        body.put("message", "Server is at capacity, please retry later");
+        body.put("path", request.getServletPath());
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Sum of maximum-pool-size over the distinct HikariCP pools, whether
+     * exposed directly (read replica setup) or behind wrappers such as the
+     * routing and timing proxies.
+     */
+    static int poolSize(List<DataSource> dataSources) {
+        Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof HikariDataSource pool) {
+                pools.add(pool);
+                continue;
+            }
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    pools.add(dataSource.unwrap(HikariDataSource.class));
+                }
+            } catch (SQLException e) {
+                // Not a pool we can size
+            }
+        }
+        if (pools.isEmpty()) {
+            throw new IllegalStateException(
+                    "No HikariCP pool found; set concurrency-limit.max-concurrent-requests");
+        }
+        return pools.stream().mapToInt(HikariDataSource::getMaximumPoolSize).sum();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.concurrency;
+
+import com.example.dto.PinnedThreadSiteDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, which happens when
+ * one blocks inside a synchronized block or method (or a native frame): the
+ * carrier cannot run other virtual threads meanwhile, so enough of these
+ * starve the scheduler.
+ *
+ * Listens to JFR's jdk.VirtualThreadPinned events (pins longer than
+ * {@code virtual-threads.pinning.threshold}) and groups them by the innermost
+ * com.example frame and the innermost non-JDK frame, which is usually the
+ * blocking call. The first event of each site is logged with its stack trace.
+ * Active only with spring.threads.virtual.enabled on Java 21 or later.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.";
+    private static final int LOGGED_FRAMES = 20;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Value("${virtual-threads.pinning.enabled}")
+    private boolean enabled;
+
+    @Value("${virtual-threads.pinning.threshold}")
+    private long thresholdMillis;
+
+    @Value("${virtual-threads.pinning.max-sites}")
+    private int maxSites;
+
+    private final ConcurrentHashMap<Site, Stats> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+    private Timer pinned;
+
+    private record Site(String applicationFrame, String blockingFrame) {
+    }
+
+    private static final class Stats {
+        long count;
+        long totalNanos;
+        long maxNanos;
+        Instant lastSeen;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled || !virtualThreads || Runtime.version().feature() < 21) {
+            return;
+        }
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for more than {} ms", thresholdMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public boolean isActive() {
+        return stream != null;
+    }
+
+    /**
+     * Pinning sites seen since startup, longest total pinned time first.
+     */
+    public List<PinnedThreadSiteDTO> report() {
+        return sites.entrySet().stream()
+                .map(entry -> {
+                    Stats stats = entry.getValue();
+                    synchronized (stats) {
+                        return new PinnedThreadSiteDTO(
+                                entry.getKey().applicationFrame(),
+                                entry.getKey().blockingFrame(),
+                                stats.count,
+                                stats.totalNanos / 1e6,
+                                stats.maxNanos / 1e6,
+                                stats.lastSeen);
+                    }
+                })
+                .sorted(Comparator.comparingDouble(PinnedThreadSiteDTO::getTotalMillis).reversed())
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinned.record(nanos, TimeUnit.NANOSECONDS);
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        Site site = new Site(applicationFrame(stackTrace), blockingFrame(stackTrace));
+        Stats stats = sites.get(site);
+        if (stats == null) {
+            if (sites.size() >= maxSites) {
+                return;
+            }
+            Stats created = new Stats();
+            stats = sites.putIfAbsent(site, created);
+            if (stats == null) {
+                stats = created;
+                logger.warn("Virtual thread {} pinned for {} ms in {} at {}:\n{}",
+                        event.getThread() != null ? event.getThread().getJavaName() : "(unknown)",
+                        nanos / 1_000_000, site.applicationFrame(), site.blockingFrame(), format(stackTrace));
+            }
+        }
+        synchronized (stats) {
+            stats.count++;
+            stats.totalNanos += nanos;
+            stats.maxNanos = Math.max(stats.maxNanos, nanos);
+            stats.lastSeen = event.getEndTime();
+        }
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (frame.isJavaFrame() && typeName(frame).startsWith(APPLICATION_PACKAGE)) {
+                    return format(frame);
+                }
+            }
+        }
+        return "(outside application code)";
+    }
+
+    // Innermost frame outside the JDK, e.g. the JDBC driver's socket read
+    private static String blockingFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "(no stack trace)";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = typeName(frame);
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return format(frame);
+            }
+        }
+        return format(stackTrace.getFrames().get(0));
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + format(frame))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return typeName(frame) + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static String typeName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName();
+    }
+}
@@ -55,7 +55,11 @@ public class CorsConfig {
         // Expose headers that the client can access
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
-                "Content-Type"));
+                "Content-Type",
+                "RateLimit-Limit",
+                "RateLimit-Remaining",
+                "RateLimit-Reset",
+                "Retry-After"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
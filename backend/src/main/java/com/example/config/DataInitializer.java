@@ -7,7 +7,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Database initialization configuration
@@ -18,7 +21,9 @@ public class DataInitializer {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
+    // Before WarmupRunner, which reads the catalog this seeds
     @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     CommandLineRunner initDatabase(
             RoleRepository roleRepository,
             CategoryRepository categoryRepository,
@@ -26,9 +31,11 @@ public class DataInitializer {
             AddressRepository addressRepository,
             UserRepository userRepository,
             ProductRepository productRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            TransactionTemplate transactionTemplate) {
 
-        return args -> {
+        // One transaction for the whole seed, so inserts are flushed in JDBC batches
+        return args -> transactionTemplate.executeWithoutResult(status -> {
             logger.info("Starting database initialization with sample data...");
 
             // Check if data already exists
@@ -313,6 +320,6 @@ public class DataInitializer {
             logger.info("User - username: john_doe, password: password123");
             logger.info("User - username: jane_smith, password: password123");
             logger.info("-----------------------------------");
-        };
+        });
     }
 }
@@ -0,0 +1,104 @@
+package com.example.config;
+
+import com.example.concurrency.ConcurrencyLimitFilter;
+import com.example.security.JwtService;
+import com.example.security.PasswordHashingExecutor;
+import com.example.security.UserDetailsCache;
+import com.example.service.BasketSummaryCache;
+import com.example.service.TokenRevocationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters for the application's own in-memory caches, the password hashing
+ * pool and the request concurrency limit. HTTP, HikariCP, Hibernate (including the second-level cache regions)
+ * and JVM meters come from Spring Boot's auto-configuration.
+ *
+ * Cache meters use Micrometer's standard names (cache.gets tagged
+ * result=hit|miss, cache.size), so the usual cache dashboards apply.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder applicationCacheMetrics(
+            UserDetailsCache userDetailsCache,
+            JwtService jwtService,
+            TokenRevocationService tokenRevocationService,
+            BasketSummaryCache basketSummaryCache) {
+        return registry -> {
+            bindCache(registry, "user-details", userDetailsCache,
+                    UserDetailsCache::hits, UserDetailsCache::misses, UserDetailsCache::size);
+            bindCache(registry, "verified-tokens", jwtService,
+                    JwtService::cacheHits, JwtService::cacheMisses, JwtService::cacheSize);
+            bindCache(registry, "token-revocation-lookups", tokenRevocationService,
+                    TokenRevocationService::lookupHits, TokenRevocationService::lookupMisses,
+                    TokenRevocationService::lookupCacheSize);
+            bindCache(registry, "basket-summaries", basketSummaryCache,
+                    BasketSummaryCache::hits, BasketSummaryCache::misses, BasketSummaryCache::size);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingExecutor executor) {
+        return registry -> {
+            Gauge.builder("password.hashing.active", executor, e -> e.getStats().getActiveThreads())
+                    .description("BCrypt tasks running")
+                    .register(registry);
+            Gauge.builder("password.hashing.queued", executor, e -> e.getStats().getQueueDepth())
+                    .description("BCrypt tasks waiting for a thread")
+                    .register(registry);
+            FunctionCounter.builder("password.hashing.rejected", executor, e -> e.getStats().getRejected())
+                    .description("BCrypt tasks turned away with 503 because the queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimitFilter limiter) {
+        return registry -> {
+            if (!limiter.isEnabled()) {
+                return;
+            }
+            Gauge.builder("http.server.requests.limit", limiter, ConcurrencyLimitFilter::limit)
+                    .description("Maximum /api requests in flight")
+                    .register(registry);
+            Gauge.builder("http.server.requests.in.flight", limiter, ConcurrencyLimitFilter::inFlight)
+                    .description("/api requests holding a slot")
+                    .register(registry);
+            Gauge.builder("http.server.requests.waiting", limiter, ConcurrencyLimitFilter::waiting)
+                    .description("/api requests waiting for a slot")
+                    .register(registry);
+            FunctionCounter.builder("http.server.requests.rejected", limiter, ConcurrencyLimitFilter::rejected)
+                    .description("/api requests turned away with 503 after waiting concurrency-limit.max-wait")
+                    .register(registry);
+        };
+    }
+
+    private static <T> void bindCache(
+            MeterRegistry registry,
+            String name,
+            T cache,
+            ToDoubleFunction<T> hits,
+            ToDoubleFunction<T> misses,
+            ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", cache, hits)
+                .tags("cache", name, "result", "hit")
+                .description("Cache lookups that found an entry")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses)
+                .tags("cache", name, "result", "miss")
+                .description("Cache lookups that did not find an entry")
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tag("cache", name)
+                .description("Entries in the cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the GraalVM native image (mvn -Pnative)
+ * covering what Spring AOT cannot work out from the bean definitions. JPA
+ * entities, Flyway migrations and controller request/response types are
+ * registered by Spring Boot itself.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /**
+     * jjwt-api loads its implementation by class name, and jjwt-impl finds the
+     * Jackson serializer through ServiceLoader.
+     */
+    private static final List<String> JJWT_IMPLEMENTATION_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer");
+
+    private static final String DTO_PACKAGE = "com.example.dto";
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : JJWT_IMPLEMENTATION_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.ACCESS_DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Not every DTO is a controller parameter or return type: some are nested
+            // in generic wrappers, built by filters or cached, and all go through Jackson
+            for (Class<?> dto : dtoClasses(classLoader)) {
+                bindingRegistrar.registerReflectionHints(hints.reflection(), dto);
+            }
+
+            // Second-level cache regions, read by Ehcache when Hibernate starts
+            hints.resources().registerPattern("ehcache.xml");
+        }
+
+        private static List<Class<?>> dtoClasses(ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    // Records, enums and nested classes as well, not only concrete beans
+                    return beanDefinition.getMetadata().isIndependent();
+                }
+            };
+            scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+            return scanner.findCandidateComponents(DTO_PACKAGE).stream()
+                    .map(BeanDefinition::getBeanClassName)
+                    .<Class<?>>map(className -> ClassUtils.resolveClassName(className, classLoader))
+                    .toList();
+        }
+    }
+}
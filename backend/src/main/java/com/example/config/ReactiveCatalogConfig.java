@@ -0,0 +1,190 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * R2DBC connection pool for the reactive catalog API (/api/reactive).
+ *
+ * It reads the same database as the JDBC pools, so its URL is derived from
+ * spring.datasource.url rather than configured separately: the read replica
+ * when read-replica.url is set (the catalog is read-only), the primary
+ * otherwise. The URL's SSL and session parameters are carried over to the
+ * R2DBC driver; a parameter with no R2DBC equivalent fails startup rather
+ * than being silently dropped. reactive-catalog.url (an r2dbc: URL) replaces
+ * the derived URL when the JDBC one cannot be translated; credentials still
+ * come from the datasource or replica settings.
+ *
+ * The pool is deliberately not a ConnectionFactory bean. Spring Boot takes
+ * one as the sign of a reactive application and then skips the JDBC
+ * DataSource, which everything else here runs on; R2dbcAutoConfiguration is
+ * excluded in application.yml for the same reason.
+ */
+@Configuration
+public class ReactiveCatalogConfig implements DisposableBean {
+
+    private static final String JDBC_PREFIX = "jdbc:postgresql:";
+
+    // JDBC URL parameter -> r2dbc-postgresql option, by name: the driver is a runtime dependency
+    private static final Map<String, Option<String>> TRANSLATED_PARAMETERS = Map.of(
+            "sslmode", Option.valueOf("sslMode"),
+            "sslrootcert", Option.valueOf("sslRootCert"),
+            "sslcert", Option.valueOf("sslCert"),
+            "sslkey", Option.valueOf("sslKey"),
+            "sslpassword", Option.valueOf("sslPassword"),
+            "ApplicationName", Option.valueOf("applicationName"),
+            "currentSchema", Option.valueOf("currentSchema"),
+            "tcpKeepAlive", Option.valueOf("tcpKeepAlive"));
+
+    // Tune the JDBC driver's own batching and statement handling; nothing to carry over
+    private static final Set<String> JDBC_ONLY_PARAMETERS = Set.of(
+            "reWriteBatchedInserts", "prepareThreshold", "defaultRowFetchSize");
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient catalogDatabaseClient(
+            DataSourceProperties properties,
+            @Value("${read-replica.url:}") String replicaUrl,
+            @Value("${read-replica.username:}") String replicaUsername,
+            @Value("${read-replica.password:}") String replicaPassword,
+            @Value("${reactive-catalog.url:}") String catalogUrl,
+            @Value("${reactive-catalog.pool.max-size}") int maxSize,
+            @Value("${reactive-catalog.pool.max-acquire-time}") long maxAcquireTimeMillis) {
+        boolean replica = !replicaUrl.isBlank();
+        // Same credentials as the primary unless the replica has its own, as in ReadReplicaConfig
+        boolean ownCredentials = replica && !replicaUsername.isBlank();
+        String username = ownCredentials ? replicaUsername : properties.determineUsername();
+        String password = ownCredentials ? replicaPassword : properties.determinePassword();
+        ConnectionFactoryOptions.Builder options = catalogUrl.isBlank()
+                ? toR2dbcOptions(replica ? replicaUrl : properties.determineUrl())
+                : ConnectionFactoryOptions.parse(catalogUrl).mutate();
+        // Options cannot be null, and trust authentication (embedded PostgreSQL) has no password
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("catalog")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMillis))
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    /**
+     * Same meters Spring Boot registers for R2DBC pools it creates itself.
+     */
+    @Bean
+    public MeterBinder catalogConnectionPoolMetrics(DatabaseClient catalogDatabaseClient) {
+        return registry -> pool.getMetrics().ifPresent(metrics -> {
+            gauge(registry, "r2dbc.pool.acquired", metrics, PoolMetrics::acquiredSize, "Connections in use");
+            gauge(registry, "r2dbc.pool.allocated", metrics, PoolMetrics::allocatedSize, "Connections open");
+            gauge(registry, "r2dbc.pool.idle", metrics, PoolMetrics::idleSize, "Idle connections");
+            gauge(registry, "r2dbc.pool.pending", metrics, PoolMetrics::pendingAcquireSize,
+                    "Subscribers waiting for a connection");
+            gauge(registry, "r2dbc.pool.max.allocated", metrics, PoolMetrics::getMaxAllocatedSize,
+                    "Maximum connections");
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    /**
+     * jdbc:postgresql://host:port/db?params -> r2dbc:postgresql://host:port/db
+     * plus the equivalent R2DBC driver options. SSL (ssl, sslmode, sslrootcert,
+     * sslcert, sslkey, sslpassword), user, password, ApplicationName,
+     * currentSchema, tcpKeepAlive and connectTimeout are translated; JDBC-only tuning
+     * parameters are skipped; anything else is rejected.
+     */
+    static ConnectionFactoryOptions.Builder toR2dbcOptions(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("The reactive catalog needs a PostgreSQL JDBC URL, got: " + jdbcUrl);
+        }
+        int query = jdbcUrl.indexOf('?');
+        String r2dbcUrl = "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+
+        Map<String, String> parameters = query < 0 ? Map.of() : parseQuery(jdbcUrl.substring(query + 1));
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            String name = parameter.getKey();
+            Option<String> option = TRANSLATED_PARAMETERS.get(name);
+            if (option != null) {
+                // Same values in both drivers; r2dbc-postgresql parses them as it does in an r2dbc: URL
+                options.option(option, parameter.getValue());
+            } else if (name.equals("ssl")) {
+                // As in the JDBC driver: ssl=true alone means verify-full, and sslmode wins over ssl
+                if (!parameters.containsKey("sslmode")) {
+                    options.option(TRANSLATED_PARAMETERS.get("sslmode"),
+                            Boolean.parseBoolean(parameter.getValue()) ? "verify-full" : "disable");
+                }
+            } else if (name.equals("user")) {
+                options.option(ConnectionFactoryOptions.USER, parameter.getValue());
+            } else if (name.equals("password")) {
+                options.option(ConnectionFactoryOptions.PASSWORD, parameter.getValue());
+            } else if (name.equals("connectTimeout")) {
+                // Seconds in the JDBC driver
+                options.option(ConnectionFactoryOptions.CONNECT_TIMEOUT,
+                        Duration.ofSeconds(Long.parseLong(parameter.getValue())));
+            } else if (!JDBC_ONLY_PARAMETERS.contains(name)) {
+                throw new IllegalStateException("JDBC URL parameter '" + name
+                        + "' has no R2DBC equivalent; set reactive-catalog.url to an r2dbc: URL"
+                        + " for the reactive catalog");
+            }
+        }
+        return options;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.put(name, value);
+        }
+        return parameters;
+    }
+
+    private static void gauge(MeterRegistry registry, String name, PoolMetrics metrics, ToDoubleFunction<PoolMetrics> value, String description) {
+        Gauge.builder(name, metrics, value)
+                .tag("name", "catalog")
+                .description(description)
+                .register(registry);
+    }
+}
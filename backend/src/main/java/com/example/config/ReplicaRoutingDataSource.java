@@ -0,0 +1,110 @@
+package com.example.config;
+
+import com.example.security.AuthenticatedUser;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy: the read-only
+ * flag of a transaction is only known once it has begun, not when the
+ * transaction manager asks for a connection.
+ *
+ * Read-your-writes: after a signed-in user commits a read-write transaction,
+ * their reads stay on the primary for readYourWritesWindowMillis, which should
+ * comfortably exceed the replication lag.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final long readYourWritesWindowNanos;
+
+    // userId -> System.nanoTime() of their last committed write
+    private final ConcurrentHashMap<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    public ReplicaRoutingDataSource(long readYourWritesWindowMillis) {
+        this.readYourWritesWindowNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesWindowMillis);
+    }
+
+    /**
+     * Runs the action with every read pinned to the primary, for lookups whose
+     * result is cached and therefore must not come from a lagging replica.
+     * A no-op wrapper when no replica is configured.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(userId);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        if (PRIMARY_ONLY.get() != null || (userId != null && wroteRecently(userId))) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private boolean wroteRecently(Long userId) {
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt < readYourWritesWindowNanos;
+    }
+
+    private void recordWrite(Long userId) {
+        long now = System.nanoTime();
+        lastWrites.put(userId, now);
+        sweepIfDue(now);
+    }
+
+    /**
+     * Drops users whose window has passed; at most one thread sweeps per window.
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + readYourWritesWindowNanos)) {
+            return;
+        }
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= readYourWritesWindowNanos);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
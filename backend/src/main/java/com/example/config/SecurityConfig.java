@@ -1,9 +1,15 @@
 package com.example.config;
 
+import com.example.concurrency.ConcurrencyLimitFilter;
 import com.example.security.JwtAuthenticationEntryPoint;
 import com.example.security.JwtAuthenticationFilter;
+import com.example.security.OffloadingPasswordEncoder;
+import com.example.security.PasswordHashingExecutor;
+import com.example.security.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -25,24 +31,38 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final MeterRegistry meterRegistry;
 
     public SecurityConfig(
             JwtAuthenticationFilter jwtAuthenticationFilter,
+            RateLimitFilter rateLimitFilter,
+            ConcurrencyLimitFilter concurrencyLimitFilter,
             UserDetailsService userDetailsService,
             JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
-            CorsConfigurationSource corsConfigurationSource) {
+            CorsConfigurationSource corsConfigurationSource,
+            PasswordHashingExecutor passwordHashingExecutor,
+            MeterRegistry meterRegistry) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
         this.userDetailsService = userDetailsService;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // BCrypt runs on a dedicated bounded pool, never on request threads
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(), passwordHashingExecutor, meterRegistry);
     }
 
     @Bean
@@ -65,15 +85,25 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/h2-console/**").permitAll()
                         .requestMatchers("/api/products/**").permitAll() // Allow public access to browse products
+                        .requestMatchers(HttpMethod.GET, "/api/reactive/**").permitAll() // Read-only catalog on R2DBC
                         .requestMatchers("/api/orders").permitAll() // Allow guest checkout
+                        .requestMatchers("/api/guest-cart/*/promote").authenticated()
+                        .requestMatchers("/api/guest-cart/**").permitAll() // Server-side guest carts
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/**").authenticated()
+                        .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+                        // Metrics and the Prometheus scrape expose internals: admins only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().permitAll())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                // After rate limiting, so rejected requests never take a slot
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class);
 
         // Allow H2 console frames
         http.headers(headers -> headers.frameOptions(frame -> frame.disable()));
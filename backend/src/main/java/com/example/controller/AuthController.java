@@ -4,48 +4,53 @@ import com.example.dto.LoginRequest;
 import com.example.dto.LoginResponse;
 import com.example.dto.RegisterRequest;
 import com.example.dto.UserDTO;
+import com.example.security.JwtClaims;
 import com.example.security.JwtService;
 import com.example.service.AuthService;
+import com.example.service.GuestCartService;
+import com.example.service.TokenRevocationService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final AuthService authService;
+    private final GuestCartService guestCartService;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthController(
-            AuthenticationManager authenticationManager,
             JwtService jwtService,
-            AuthService authService) {
-        this.authenticationManager = authenticationManager;
+            AuthService authService,
+            GuestCartService guestCartService,
+            TokenRevocationService tokenRevocationService) {
         this.jwtService = jwtService;
         this.authService = authService;
+        this.guestCartService = guestCartService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getEmail(),
-                            loginRequest.getPassword()));
+            LoginResponse response = authService.login(loginRequest);
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtService.generateToken(userDetails);
-            UserDTO user = authService.getUserByEmail(loginRequest.getEmail());
+            if (loginRequest.getGuestCartToken() != null) {
+                try {
+                    guestCartService.promoteToBasket(
+                            loginRequest.getGuestCartToken(), response.getUser().getId());
+                } catch (RuntimeException e) {
+                    // Login must not fail because a cart line went out of stock or the
+                    // cart expired; the cart is kept and can be promoted explicitly
+                }
+            }
 
-            return ResponseEntity.ok(new LoginResponse(token, user));
+            return ResponseEntity.ok(response);
         } catch (AuthenticationException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid email or password");
@@ -54,19 +59,11 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        UserDTO user = authService.registerUser(registerRequest);
-
-        // Authenticate the newly registered user to generate token
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        user.getEmail(),
-                        registerRequest.getPassword()));
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtService.generateToken(userDetails);
+        // Token is issued from the saved user; the fresh hash is not verified again
+        LoginResponse response = authService.register(registerRequest);
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new LoginResponse(token, user));
+                .body(response);
     }
 
     @GetMapping("/validate")
@@ -74,9 +71,27 @@ public class AuthController {
         try {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String email = jwtService.extractUsername(token);
-                UserDTO user = authService.getUserByEmail(email);
-                return ResponseEntity.ok(user);
+                JwtClaims claims = jwtService.verify(token);
+                if (!tokenRevocationService.isRevoked(claims)) {
+                    UserDTO user = authService.getUserByEmail(claims.username());
+                    return ResponseEntity.ok(user);
+                }
+            }
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Invalid token");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Invalid token");
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
+        try {
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                JwtClaims claims = jwtService.verify(authHeader.substring(7));
+                tokenRevocationService.revokeToken(claims);
+                return ResponseEntity.noContent().build();
             }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid token");
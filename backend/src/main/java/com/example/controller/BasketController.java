@@ -1,7 +1,9 @@
 package com.example.controller;
 
 import com.example.dto.AddToBasketRequest;
+import com.example.dto.BasketBatchRequest;
 import com.example.dto.BasketItemDTO;
+import com.example.dto.BasketSummaryDTO;
 import com.example.service.BasketService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +38,20 @@ public class BasketController {
         return ResponseEntity.ok(count);
     }
     
+    @PostMapping("/user/{userId}/batch")
+    public ResponseEntity<List<BasketItemDTO>> applyBatch(
+            @PathVariable Long userId,
+            @Valid @RequestBody BasketBatchRequest request) {
+        List<BasketItemDTO> basket = basketService.applyBatch(userId, request.getOperations());
+        return ResponseEntity.ok(basket);
+    }
+    
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<BasketSummaryDTO> getBasketSummary(@PathVariable Long userId) {
+        BasketSummaryDTO summary = basketService.getBasketSummary(userId);
+        return ResponseEntity.ok(summary);
+    }
+    
     @PatchMapping("/{basketItemId}")
     public ResponseEntity<BasketItemDTO> updateBasketItemQuantity(
             @PathVariable Long basketItemId,
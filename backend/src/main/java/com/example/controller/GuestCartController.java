@@ -0,0 +1,78 @@
+package com.example.controller;
+
+import com.example.dto.BasketItemDTO;
+import com.example.dto.GuestCartDTO;
+import com.example.dto.GuestCartItemRequest;
+import com.example.security.AuthenticatedUser;
+import com.example.service.GuestCartService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/guest-cart")
+public class GuestCartController {
+    
+    @Autowired
+    private GuestCartService guestCartService;
+    
+    @PostMapping
+    public ResponseEntity<GuestCartDTO> createCart() {
+        GuestCartDTO cart = guestCartService.createCart();
+        return new ResponseEntity<>(cart, HttpStatus.CREATED);
+    }
+    
+    @GetMapping("/{token}")
+    public ResponseEntity<GuestCartDTO> getCart(@PathVariable String token) {
+        GuestCartDTO cart = guestCartService.getCart(token);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @PostMapping("/{token}/items")
+    public ResponseEntity<GuestCartDTO> addItem(
+            @PathVariable String token,
+            @Valid @RequestBody GuestCartItemRequest request) {
+        GuestCartDTO cart = guestCartService.addItem(token, request);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @PatchMapping("/{token}/items/{productId}")
+    public ResponseEntity<GuestCartDTO> updateItemQuantity(
+            @PathVariable String token,
+            @PathVariable Long productId,
+            @RequestParam Integer quantity) {
+        GuestCartDTO cart = guestCartService.updateItemQuantity(token, productId, quantity);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @DeleteMapping("/{token}/items/{productId}")
+    public ResponseEntity<GuestCartDTO> removeItem(
+            @PathVariable String token,
+            @PathVariable Long productId) {
+        GuestCartDTO cart = guestCartService.removeItem(token, productId);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @DeleteMapping("/{token}")
+    public ResponseEntity<Void> deleteCart(@PathVariable String token) {
+        guestCartService.deleteCart(token);
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Merges the cart into the caller's own basket; the user always comes
+     * from the bearer token, never from the request.
+     */
+    @PostMapping("/{token}/promote")
+    public ResponseEntity<List<BasketItemDTO>> promoteToBasket(
+            @PathVariable String token,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        List<BasketItemDTO> basket = guestCartService.promoteToBasket(token, user.getId());
+        return ResponseEntity.ok(basket);
+    }
+}
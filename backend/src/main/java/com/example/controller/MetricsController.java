@@ -0,0 +1,49 @@
+package com.example.controller;
+
+import com.example.concurrency.VirtualThreadPinningMonitor;
+import com.example.dto.PasswordHashingStatsDTO;
+import com.example.dto.PinnedThreadSiteDTO;
+import com.example.dto.SlowSqlDTO;
+import com.example.security.PasswordHashingExecutor;
+import com.example.timing.SlowSqlTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operational statistics. Under /api/admin, so only ROLE_ADMIN can read them:
+ * route templates, SQL fingerprints and stack frames describe the internals.
+ */
+@RestController
+@RequestMapping("/api/admin/metrics")
+public class MetricsController {
+    
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private SlowSqlTracker slowSqlTracker;
+    
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+    
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStatsDTO> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingExecutor.getStats());
+    }
+    
+    @GetMapping("/slow-sql")
+    public ResponseEntity<Map<String, List<SlowSqlDTO>>> getSlowSql() {
+        return ResponseEntity.ok(slowSqlTracker.report());
+    }
+    
+    @GetMapping("/virtual-thread-pinning")
+    public ResponseEntity<List<PinnedThreadSiteDTO>> getVirtualThreadPinning() {
+        return ResponseEntity.ok(virtualThreadPinningMonitor.report());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.controller;
+
+import com.example.dto.ProfilingSummaryDTO;
+import com.example.dto.RecordingDTO;
+import com.example.dto.StartRecordingRequest;
+import com.example.service.ProfilingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+public class ProfilingController {
+
+    @Autowired
+    private ProfilingService profilingService;
+
+    @PostMapping("/recordings")
+    public ResponseEntity<RecordingDTO> startRecording(
+            @Valid @RequestBody(required = false) StartRecordingRequest request) {
+        RecordingDTO recording = profilingService.start(request != null ? request : new StartRecordingRequest());
+        return new ResponseEntity<>(recording, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/recordings")
+    public ResponseEntity<List<RecordingDTO>> getRecordings() {
+        return ResponseEntity.ok(profilingService.list());
+    }
+
+    @DeleteMapping("/recordings/current")
+    public ResponseEntity<RecordingDTO> stopRecording() {
+        return ResponseEntity.ok(profilingService.stop());
+    }
+
+    @GetMapping("/recordings/{name}")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable String name) {
+        Path file = profilingService.file(name);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    @GetMapping("/recordings/{name}/summary")
+    public ResponseEntity<ProfilingSummaryDTO> getSummary(@PathVariable String name,
+            @RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(profilingService.summarize(name, Math.max(1, Math.min(top, 200))));
+    }
+}
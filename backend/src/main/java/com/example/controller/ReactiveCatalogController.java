@@ -0,0 +1,75 @@
+package com.example.controller;
+
+import com.example.dto.BrandDTO;
+import com.example.dto.CategoryDTO;
+import com.example.dto.ProductDTO;
+import com.example.service.ReactiveCatalogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only mirror of the catalog GETs of ProductController, on R2DBC.
+ * Paths and response shapes match /api/products, so a client can switch
+ * one endpoint at a time.
+ *
+ * Lists are a JSON array by default. With Accept: application/x-ndjson they
+ * are streamed one product per line, and the next row is only requested
+ * once the previous one has been written, so a slow client holds back the
+ * query instead of filling memory.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveCatalogController {
+
+    @Autowired
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @GetMapping("/products/{id}")
+    public Mono<ProductDTO> getProductById(@PathVariable Long id) {
+        return reactiveCatalogService.getProductById(id);
+    }
+
+    @GetMapping("/products")
+    public Flux<ProductDTO> getAllProducts(
+            @RequestParam(required = false, defaultValue = "false") boolean availableOnly) {
+        return reactiveCatalogService.getAllProducts(availableOnly);
+    }
+
+    @GetMapping("/products/brand/{brandId}")
+    public Flux<ProductDTO> getProductsByBrand(@PathVariable Long brandId) {
+        return reactiveCatalogService.getProductsByBrand(brandId);
+    }
+
+    @GetMapping("/products/category/{categoryId}")
+    public Flux<ProductDTO> getProductsByCategory(@PathVariable Long categoryId) {
+        return reactiveCatalogService.getProductsByCategory(categoryId);
+    }
+
+    @GetMapping("/products/search")
+    public Flux<ProductDTO> searchProducts(@RequestParam String name) {
+        return reactiveCatalogService.searchProducts(name);
+    }
+
+    @GetMapping("/products/filter")
+    public Flux<ProductDTO> filterProducts(
+            @RequestParam(required = false) Long brandId,
+            @RequestParam(required = false) Long categoryId) {
+        return reactiveCatalogService.filterProducts(brandId, categoryId);
+    }
+
+    @GetMapping("/brands")
+    public Flux<BrandDTO> getAllBrands() {
+        return reactiveCatalogService.getAllBrands();
+    }
+
+    @GetMapping("/categories")
+    public Flux<CategoryDTO> getAllCategories() {
+        return reactiveCatalogService.getAllCategories();
+    }
+}
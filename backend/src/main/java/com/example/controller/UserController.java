@@ -1,8 +1,12 @@
 package com.example.controller;
 
+import com.example.dto.BulkUserImportRequest;
 import com.example.dto.CreateUserRequest;
 import com.example.dto.UpdateUserRequest;
 import com.example.dto.UserDTO;
+import com.example.dto.UserImportReportDTO;
+import com.example.dto.UserPageDTO;
+import com.example.service.UserImportService;
 import com.example.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,12 +23,21 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserImportService userImportService;
+
     @PostMapping
     public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserRequest request) {
         UserDTO user = userService.createUser(request);
         return new ResponseEntity<>(user, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<UserImportReportDTO> importUsers(@Valid @RequestBody BulkUserImportRequest request) {
+        UserImportReportDTO report = userImportService.importUsers(request.getUsers());
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         UserDTO user = userService.getUserById(id);
@@ -38,9 +51,13 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPageDTO> getUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long roleId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        UserPageDTO page = userService.getUserDirectory(q, roleId, cursor, limit);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/role/{roleId}")
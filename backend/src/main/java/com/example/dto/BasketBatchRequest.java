@@ -0,0 +1,31 @@
+package com.example.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BasketBatchRequest {
+    
+    // Applied in order, all-or-nothing
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 operations")
+    private List<@Valid BasketOperationRequest> operations;
+    
+    // Constructors
+    public BasketBatchRequest() {}
+    
+    public BasketBatchRequest(List<BasketOperationRequest> operations) {
+        this.operations = operations;
+    }
+    
+    // Getters and Setters
+    public List<BasketOperationRequest> getOperations() {
+        return operations;
+    }
+    
+    public void setOperations(List<BasketOperationRequest> operations) {
+        this.operations = operations;
+    }
+}
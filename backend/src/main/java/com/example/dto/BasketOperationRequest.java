@@ -0,0 +1,55 @@
+package com.example.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class BasketOperationRequest {
+    
+    public enum Type {
+        ADD,
+        SET,
+        REMOVE
+    }
+    
+    @NotNull(message = "Operation type is required")
+    private Type type;
+    
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+    
+    // Ignored for REMOVE operations
+    private Integer quantity;
+    
+    // Constructors
+    public BasketOperationRequest() {}
+    
+    public BasketOperationRequest(Type type, Long productId, Integer quantity) {
+        this.type = type;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+    
+    // Getters and Setters
+    public Type getType() {
+        return type;
+    }
+    
+    public void setType(Type type) {
+        this.type = type;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.dto;
+
+public class BasketSummaryDTO {
+    
+    private Long userId;
+    private Integer itemCount;
+    private Long unitCount;
+    private Double subtotal;
+    
+    // Constructors
+    public BasketSummaryDTO() {}
+    
+    public BasketSummaryDTO(Long userId, Integer itemCount, Long unitCount, Double subtotal) {
+        this.userId = userId;
+        this.itemCount = itemCount;
+        this.unitCount = unitCount;
+        this.subtotal = subtotal;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Integer getItemCount() {
+        return itemCount;
+    }
+    
+    public void setItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
+    
+    public Long getUnitCount() {
+        return unitCount;
+    }
+    
+    public void setUnitCount(Long unitCount) {
+        this.unitCount = unitCount;
+    }
+    
+    public Double getSubtotal() {
+        return subtotal;
+    }
+    
+    public void setSubtotal(Double subtotal) {
+        this.subtotal = subtotal;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkUserImportRequest {
+
+    // Rows are validated individually so one bad row does not reject the import
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 1000, message = "An import cannot contain more than 1000 users")
+    private List<CreateUserRequest> users;
+
+    // Constructors
+    public BulkUserImportRequest() {
+    }
+
+    public BulkUserImportRequest(List<CreateUserRequest> users) {
+        this.users = users;
+    }
+
+    // Getters and Setters
+    public List<CreateUserRequest> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<CreateUserRequest> users) {
+        this.users = users;
+    }
+}
@@ -14,6 +14,8 @@ public class CreateOrderRequest {
     private String guestEmail;
     private AddressDTO guestAddress;
     private List<OrderItemDTO> items;
+    // Alternative to items: checkout the contents of a server-side guest cart
+    private String guestCartToken;
     
     // Constructors
     public CreateOrderRequest() {}
@@ -64,6 +66,14 @@ public class CreateOrderRequest {
         this.items = items;
     }
     
+    public String getGuestCartToken() {
+        return guestCartToken;
+    }
+    
+    public void setGuestCartToken(String guestCartToken) {
+        this.guestCartToken = guestCartToken;
+    }
+    
     public boolean isGuestOrder() {
         return userId == null && guestEmail != null;
     }
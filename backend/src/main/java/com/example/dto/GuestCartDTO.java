@@ -0,0 +1,44 @@
+package com.example.dto;
+
+import java.util.List;
+
+public class GuestCartDTO {
+    
+    private String token;
+    private List<OrderItemDTO> items;
+    private Double subtotal;
+    
+    // Constructors
+    public GuestCartDTO() {}
+    
+    public GuestCartDTO(String token, List<OrderItemDTO> items, Double subtotal) {
+        this.token = token;
+        this.items = items;
+        this.subtotal = subtotal;
+    }
+    
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    public List<OrderItemDTO> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<OrderItemDTO> items) {
+        this.items = items;
+    }
+    
+    public Double getSubtotal() {
+        return subtotal;
+    }
+    
+    public void setSubtotal(Double subtotal) {
+        this.subtotal = subtotal;
+    }
+}
@@ -14,6 +14,9 @@ public class LoginRequest {
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
 
+    // Optional: guest cart to merge into the user's basket on login
+    private String guestCartToken;
+
     // Constructors
     public LoginRequest() {
     }
@@ -39,4 +42,12 @@ public class LoginRequest {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public String getGuestCartToken() {
+        return guestCartToken;
+    }
+
+    public void setGuestCartToken(String guestCartToken) {
+        this.guestCartToken = guestCartToken;
+    }
 }
@@ -0,0 +1,104 @@
+package com.example.dto;
+
+public class PasswordHashingStatsDTO {
+    
+    private int threads;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private double averageHashMillis;
+    private double maxHashMillis;
+    private double averageWaitMillis;
+    
+    // Constructors
+    public PasswordHashingStatsDTO() {}
+    
+    public PasswordHashingStatsDTO(int threads, int activeThreads, int queueDepth, int queueCapacity,
+            long completed, long rejected, double averageHashMillis, double maxHashMillis,
+            double averageWaitMillis) {
+        this.threads = threads;
+        this.activeThreads = activeThreads;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.averageHashMillis = averageHashMillis;
+        this.maxHashMillis = maxHashMillis;
+        this.averageWaitMillis = averageWaitMillis;
+    }
+    
+    // Getters and Setters
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+    
+    public void setActiveThreads(int activeThreads) {
+        this.activeThreads = activeThreads;
+    }
+    
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+    
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public double getAverageHashMillis() {
+        return averageHashMillis;
+    }
+    
+    public void setAverageHashMillis(double averageHashMillis) {
+        this.averageHashMillis = averageHashMillis;
+    }
+    
+    public double getMaxHashMillis() {
+        return maxHashMillis;
+    }
+    
+    public void setMaxHashMillis(double maxHashMillis) {
+        this.maxHashMillis = maxHashMillis;
+    }
+    
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+    
+    public void setAverageWaitMillis(double averageWaitMillis) {
+        this.averageWaitMillis = averageWaitMillis;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.dto;
+
+import java.time.Instant;
+
+public class PinnedThreadSiteDTO {
+    
+    private String applicationFrame;
+    private String blockingFrame;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+    private Instant lastSeen;
+    
+    // Constructors
+    public PinnedThreadSiteDTO() {}
+    
+    public PinnedThreadSiteDTO(String applicationFrame, String blockingFrame, long count, double totalMillis,
+            double maxMillis, Instant lastSeen) {
+        this.applicationFrame = applicationFrame;
+        this.blockingFrame = blockingFrame;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.lastSeen = lastSeen;
+    }
+    
+    // Getters and Setters
+    public String getApplicationFrame() {
+        return applicationFrame;
+    }
+    
+    public void setApplicationFrame(String applicationFrame) {
+        this.applicationFrame = applicationFrame;
+    }
+    
+    public String getBlockingFrame() {
+        return blockingFrame;
+    }
+    
+    public void setBlockingFrame(String blockingFrame) {
+        this.blockingFrame = blockingFrame;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+    
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+    
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+    
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+    
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+    
+    public void setLastSeen(Instant lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.dto;
+
+public class ProfileEntryDTO {
+    
+    private String name;
+    private long count;
+    // Samples, bytes or milliseconds, depending on the section
+    private double value;
+    
+    // Constructors
+    public ProfileEntryDTO() {}
+    
+    public ProfileEntryDTO(String name, long count, double value) {
+        this.name = name;
+        this.count = count;
+        this.value = value;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    public void setValue(double value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.dto;
+
+import java.util.List;
+
+public class ProfilingSummaryDTO {
+    
+    private String recording;
+    private long events;
+    // value = samples
+    private List<ProfileEntryDTO> topFrames;
+    // Innermost com.example frame of each sample; value = samples
+    private List<ProfileEntryDTO> topApplicationFrames;
+    // value = estimated bytes allocated
+    private List<ProfileEntryDTO> allocationSites;
+    // value = milliseconds blocked
+    private List<ProfileEntryDTO> lockContention;
+    // value = milliseconds in socket reads/writes (JDBC traffic shows up here)
+    private List<ProfileEntryDTO> socketIo;
+    
+    // Constructors
+    public ProfilingSummaryDTO() {}
+    
+    public ProfilingSummaryDTO(String recording, long events, List<ProfileEntryDTO> topFrames,
+            List<ProfileEntryDTO> topApplicationFrames, List<ProfileEntryDTO> allocationSites,
+            List<ProfileEntryDTO> lockContention, List<ProfileEntryDTO> socketIo) {
+        this.recording = recording;
+        this.events = events;
+        this.topFrames = topFrames;
+        this.topApplicationFrames = topApplicationFrames;
+        this.allocationSites = allocationSites;
+        this.lockContention = lockContention;
+        this.socketIo = socketIo;
+    }
+    
+    // Getters and Setters
+    public String getRecording() {
+        return recording;
+    }
+    
+    public void setRecording(String recording) {
+        this.recording = recording;
+    }
+    
+    public long getEvents() {
+        return events;
+    }
+    
+    public void setEvents(long events) {
+        this.events = events;
+    }
+    
+    public List<ProfileEntryDTO> getTopFrames() {
+        return topFrames;
+    }
+    
+    public void setTopFrames(List<ProfileEntryDTO> topFrames) {
+        this.topFrames = topFrames;
+    }
+    
+    public List<ProfileEntryDTO> getTopApplicationFrames() {
+        return topApplicationFrames;
+    }
+    
+    public void setTopApplicationFrames(List<ProfileEntryDTO> topApplicationFrames) {
+        this.topApplicationFrames = topApplicationFrames;
+    }
+    
+    public List<ProfileEntryDTO> getAllocationSites() {
+        return allocationSites;
+    }
+    
+    public void setAllocationSites(List<ProfileEntryDTO> allocationSites) {
+        this.allocationSites = allocationSites;
+    }
+    
+    public List<ProfileEntryDTO> getLockContention() {
+        return lockContention;
+    }
+    
+    public void setLockContention(List<ProfileEntryDTO> lockContention) {
+        this.lockContention = lockContention;
+    }
+    
+    public List<ProfileEntryDTO> getSocketIo() {
+        return socketIo;
+    }
+    
+    public void setSocketIo(List<ProfileEntryDTO> socketIo) {
+        this.socketIo = socketIo;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class RecordingDTO {
+    
+    private String name;
+    private List<String> profiles;
+    private boolean running;
+    private Instant startedAt;
+    private Integer durationSeconds;
+    private long sizeBytes;
+    
+    // Constructors
+    public RecordingDTO() {}
+    
+    public RecordingDTO(String name, List<String> profiles, boolean running, Instant startedAt,
+            Integer durationSeconds, long sizeBytes) {
+        this.name = name;
+        this.profiles = profiles;
+        this.running = running;
+        this.startedAt = startedAt;
+        this.durationSeconds = durationSeconds;
+        this.sizeBytes = sizeBytes;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public List<String> getProfiles() {
+        return profiles;
+    }
+    
+    public void setProfiles(List<String> profiles) {
+        this.profiles = profiles;
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+    
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+}
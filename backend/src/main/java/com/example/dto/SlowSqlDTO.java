@@ -0,0 +1,63 @@
+package com.example.dto;
+
+public class SlowSqlDTO {
+    
+    private String fingerprint;
+    private long executions;
+    private double totalMillis;
+    private double averageMillis;
+    private double maxMillis;
+    
+    // Constructors
+    public SlowSqlDTO() {}
+    
+    public SlowSqlDTO(String fingerprint, long executions, double totalMillis, double averageMillis,
+            double maxMillis) {
+        this.fingerprint = fingerprint;
+        this.executions = executions;
+        this.totalMillis = totalMillis;
+        this.averageMillis = averageMillis;
+        this.maxMillis = maxMillis;
+    }
+    
+    // Getters and Setters
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    public long getExecutions() {
+        return executions;
+    }
+    
+    public void setExecutions(long executions) {
+        this.executions = executions;
+    }
+    
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+    
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+    
+    public double getAverageMillis() {
+        return averageMillis;
+    }
+    
+    public void setAverageMillis(double averageMillis) {
+        this.averageMillis = averageMillis;
+    }
+    
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+    
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.dto;
+
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
+
+public class StartRecordingRequest {
+    
+    // Any of cpu, allocation, locks, io; empty means cpu
+    private List<String> profiles;
+    
+    // Capped at profiling.max-duration-seconds; null means profiling.default-duration-seconds
+    @Min(value = 1, message = "Duration must be at least one second")
+    private Integer durationSeconds;
+    
+    // Constructors
+    public StartRecordingRequest() {}
+    
+    public StartRecordingRequest(List<String> profiles, Integer durationSeconds) {
+        this.profiles = profiles;
+        this.durationSeconds = durationSeconds;
+    }
+    
+    // Getters and Setters
+    public List<String> getProfiles() {
+        return profiles;
+    }
+    
+    public void setProfiles(List<String> profiles) {
+        this.profiles = profiles;
+    }
+    
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.dto;
+
+import java.util.List;
+
+public class UserImportReportDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<UserImportRowResultDTO> rows;
+
+    // Constructors
+    public UserImportReportDTO() {
+    }
+
+    public UserImportReportDTO(int total, int created, int failed, List<UserImportRowResultDTO> rows) {
+        this.total = total;
+        this.created = created;
+        this.failed = failed;
+        this.rows = rows;
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<UserImportRowResultDTO> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<UserImportRowResultDTO> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.dto;
+
+public class UserImportRowResultDTO {
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE
+    }
+
+    private int row;
+    private Status status;
+    private Long userId;
+    private String message;
+
+    // Constructors
+    public UserImportRowResultDTO() {
+    }
+
+    public UserImportRowResultDTO(int row, Status status, Long userId, String message) {
+        this.row = row;
+        this.status = status;
+        this.userId = userId;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
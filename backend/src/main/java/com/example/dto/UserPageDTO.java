@@ -0,0 +1,39 @@
+package com.example.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of the user directory. Pass nextCursor back as the
+ * cursor parameter to fetch the following page; it is null on the last page.
+ */
+public class UserPageDTO {
+
+    private List<UserSummaryDTO> items;
+    private Long nextCursor;
+
+    // Constructors
+    public UserPageDTO() {
+    }
+
+    public UserPageDTO(List<UserSummaryDTO> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<UserSummaryDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserSummaryDTO> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.dto;
+
+/**
+ * Directory row for user listings. Built directly by a JPQL constructor
+ * expression, so no User entity (and no EAGER address) is materialized.
+ */
+public class UserSummaryDTO {
+
+    private Long id;
+    private String username;
+    private String email;
+    private String phoneNumber;
+    private RoleDTO role;
+
+    // Constructors
+    public UserSummaryDTO() {
+    }
+
+    public UserSummaryDTO(Long id, String username, String email, String phoneNumber,
+            Long roleId, String roleName, String roleDescription) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.role = new RoleDTO(roleId, roleName, roleDescription);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public RoleDTO getRole() {
+        return role;
+    }
+
+    public void setRole(RoleDTO role) {
+        this.role = role;
+    }
+}
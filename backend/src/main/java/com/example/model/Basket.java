@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class Basket {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "baskets_seq")
+    @SequenceGenerator(name = "baskets_seq", sequenceName = "baskets_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
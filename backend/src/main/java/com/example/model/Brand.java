@@ -1,13 +1,22 @@
 package com.example.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * Reference data: read-mostly, so kept in the second-level cache (see
+ * ehcache.xml). Hibernate updates the cache on every write made through JPA.
+ */
 @Entity
 @Table(name = "brands")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Brand {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "brands_seq")
+    @SequenceGenerator(name = "brands_seq", sequenceName = "brands_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
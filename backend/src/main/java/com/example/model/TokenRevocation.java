@@ -0,0 +1,59 @@
+package com.example.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Denylist entry. The key is either "t:&lt;token id&gt;" (a single revoked token)
+ * or "u:&lt;user id&gt;" (every token of that user issued before revokedBefore).
+ * Rows are useless once expiresAt passes, since any token they could match
+ * has expired by then.
+ */
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+    
+    @Id
+    @Column(name = "revocation_key", length = 64)
+    private String revocationKey;
+    
+    @Column(name = "revoked_before")
+    private Instant revokedBefore;
+    
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    
+    // Constructors
+    public TokenRevocation() {}
+    
+    public TokenRevocation(String revocationKey, Instant revokedBefore, Instant expiresAt) {
+        this.revocationKey = revocationKey;
+        this.revokedBefore = revokedBefore;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getRevocationKey() {
+        return revocationKey;
+    }
+    
+    public void setRevocationKey(String revocationKey) {
+        this.revocationKey = revocationKey;
+    }
+    
+    public Instant getRevokedBefore() {
+        return revokedBefore;
+    }
+    
+    public void setRevokedBefore(Instant revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -30,6 +31,11 @@ public class User {
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     private Address address;
 
+    // Incremented when email, password or role change; tokens issued for an
+    // older version are rejected. Nullable so ddl-auto can add it to existing rows
+    @Column(name = "token_version")
+    private Long tokenVersion = 0L;
+
     // Constructors
     public User() {
     }
@@ -99,4 +105,16 @@ public class User {
     public void setAddress(Address address) {
         this.address = address;
     }
+
+    public long getTokenVersion() {
+        return tokenVersion != null ? tokenVersion : 0L;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public void incrementTokenVersion() {
+        this.tokenVersion = getTokenVersion() + 1;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.example.repository;
 
 import com.example.model.Basket;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,8 +13,13 @@ import java.util.Optional;
 
 @Repository
 public interface BasketRepository extends JpaRepository<Basket, Long> {
+    // One query for the lines and their products, not one select per product
+    @EntityGraph(attributePaths = {"product"}, type = EntityGraph.EntityGraphType.LOAD)
     List<Basket> findByUserId(Long userId);
     Optional<Basket> findByUserIdAndProductId(Long userId, Long productId);
-    void deleteByUserId(Long userId);
+    // Bulk delete: a derived delete would load every line (and its product) first
+    @Modifying
+    @Query("DELETE FROM Basket b WHERE b.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
     long countByUserId(Long userId);
 }
@@ -2,6 +2,7 @@ package com.example.repository;
 
 import com.example.model.Order;
 import com.example.model.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,7 +10,18 @@ import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Order lists fetch user and address in the same query instead of one
+    // select per distinct user/address (see StatementBudgetTest)
+    @Override
+    @EntityGraph(attributePaths = {"user", "address"}, type = EntityGraph.EntityGraphType.LOAD)
+    List<Order> findAll();
+
+    @EntityGraph(attributePaths = {"user", "address"}, type = EntityGraph.EntityGraphType.LOAD)
     List<Order> findByUserIdOrderByTimeCreatedDesc(Long userId);
+
+    @EntityGraph(attributePaths = {"user", "address"}, type = EntityGraph.EntityGraphType.LOAD)
     List<Order> findByStatus(OrderStatus status);
+
+    @EntityGraph(attributePaths = {"user", "address"}, type = EntityGraph.EntityGraphType.LOAD)
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
 }
@@ -0,0 +1,133 @@
+package com.example.repository;
+
+import com.example.dto.BrandDTO;
+import com.example.dto.CategoryDTO;
+import com.example.dto.ProductDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only catalog queries over R2DBC, mapped straight to the DTOs the JPA
+ * path returns. Multi-row queries set a fetch size, so PostgreSQL sends rows
+ * in batches as the subscriber asks for them instead of the whole result at
+ * once.
+ */
+@Repository
+public class ReactiveCatalogRepository {
+
+    private static final String PRODUCT_SELECT = """
+            SELECT p.id, p.name, p.quantity, p.price, p.description, p.image,
+                   b.name AS brand_name, b.id AS brand_id, c.name AS category_name, c.id AS category_id
+            FROM products p
+            JOIN brands b ON b.id = p.brand_id
+            JOIN categories c ON c.id = p.category_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient,
+            @Value("${reactive-catalog.fetch-size}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<ProductDTO> findProductById(Long id) {
+        return databaseClient.sql(PRODUCT_SELECT + "WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toProduct)
+                .one();
+    }
+
+    public Flux<ProductDTO> findProducts(boolean availableOnly) {
+        return products(PRODUCT_SELECT + (availableOnly ? "WHERE p.quantity > 0 " : "") + "ORDER BY p.id")
+                .map(ReactiveCatalogRepository::toProduct)
+                .all();
+    }
+
+    public Flux<ProductDTO> findProductsByBrandId(Long brandId) {
+        return products(PRODUCT_SELECT + "WHERE p.brand_id = :brandId ORDER BY p.id")
+                .bind("brandId", brandId)
+                .map(ReactiveCatalogRepository::toProduct)
+                .all();
+    }
+
+    public Flux<ProductDTO> findProductsByCategoryId(Long categoryId) {
+        return products(PRODUCT_SELECT + "WHERE p.category_id = :categoryId ORDER BY p.id")
+                .bind("categoryId", categoryId)
+                .map(ReactiveCatalogRepository::toProduct)
+                .all();
+    }
+
+    public Flux<ProductDTO> findProductsByBrandIdAndCategoryId(Long brandId, Long categoryId) {
+        return products(PRODUCT_SELECT + "WHERE p.brand_id = :brandId AND p.category_id = :categoryId ORDER BY p.id")
+                .bind("brandId", brandId)
+                .bind("categoryId", categoryId)
+                .map(ReactiveCatalogRepository::toProduct)
+                .all();
+    }
+
+    /**
+     * Case-insensitive substring match, as ProductRepository.findByNameContainingIgnoreCase;
+     * UPPER(name) is what idx_products_name_trgm indexes.
+     */
+    public Flux<ProductDTO> findProductsByNameContaining(String name) {
+        return products(PRODUCT_SELECT + "WHERE UPPER(p.name) LIKE UPPER(:pattern) ESCAPE '\\' ORDER BY p.id")
+                .bind("pattern", "%" + escapeLike(name) + "%")
+                .map(ReactiveCatalogRepository::toProduct)
+                .all();
+    }
+
+    public Mono<Boolean> brandExists(Long id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM brands WHERE id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<Boolean> categoryExists(Long id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM categories WHERE id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Flux<BrandDTO> findBrands() {
+        return databaseClient.sql("SELECT id, name FROM brands ORDER BY name")
+                .map(row -> new BrandDTO(row.get("id", Long.class), row.get("name", String.class)))
+                .all();
+    }
+
+    public Flux<CategoryDTO> findCategories() {
+        return databaseClient.sql("SELECT id, name FROM categories ORDER BY name")
+                .map(row -> new CategoryDTO(row.get("id", Long.class), row.get("name", String.class)))
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec products(String sql) {
+        return databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize));
+    }
+
+    private static ProductDTO toProduct(Readable row) {
+        return new ProductDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("quantity", Integer.class),
+                row.get("price", Double.class),
+                row.get("description", String.class),
+                row.get("image", String.class),
+                row.get("brand_name", String.class),
+                row.get("brand_id", Long.class),
+                row.get("category_name", String.class),
+                row.get("category_id", Long.class));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
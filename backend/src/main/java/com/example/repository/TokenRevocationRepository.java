@@ -0,0 +1,24 @@
+package com.example.repository;
+
+import com.example.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+    
+    @Query("SELECT r.revocationKey FROM TokenRevocation r WHERE r.expiresAt > :now")
+    List<String> findActiveKeys(@Param("now") Instant now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
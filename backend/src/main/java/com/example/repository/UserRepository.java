@@ -1,18 +1,74 @@
 package com.example.repository;
 
+import com.example.dto.UserSummaryDTO;
 import com.example.model.Role;
 import com.example.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Used on every login and cache miss; the role comes from the second-level cache.
+    // Transactional so its connection is released on return: AuthService.login calls
+    // it outside a transaction, where the shared EntityManager would otherwise hold
+    // the connection through BCrypt while convertToDTO borrows a second one.
+    // Read-only, so it may go to the replica: security lookups wrap it in
+    // ReplicaRoutingDataSource.onPrimary.
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"address"}, type = EntityGraph.EntityGraphType.LOAD)
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+    // Addresses are an EAGER one-to-one: join them rather than select per user
+    @EntityGraph(attributePaths = {"address"}, type = EntityGraph.EntityGraphType.LOAD)
     List<User> findByRole(Role role);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    // Invalidates every token issued to holders of the role, whose claims name it
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1 WHERE u.role.id = :roleId")
+    int incrementTokenVersionsByRoleId(@Param("roleId") Long roleId);
+
+    // Batch uniqueness checks for bulk import: one IN query per key
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // Directory pages: keyset on id, projection only (no address join).
+    // Prefix filters match lower(...) LIKE 'prefix%' so the
+    // text_pattern_ops expression indexes on users can serve them.
+    @Query("SELECT new com.example.dto.UserSummaryDTO(u.id, u.username, u.email, u.phoneNumber, r.id, r.name, r.description) "
+            + "FROM User u JOIN u.role r WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummaryDTO> findDirectoryPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.example.dto.UserSummaryDTO(u.id, u.username, u.email, u.phoneNumber, r.id, r.name, r.description) "
+            + "FROM User u JOIN u.role r WHERE u.id > :afterId AND r.id = :roleId ORDER BY u.id")
+    List<UserSummaryDTO> findDirectoryPageByRole(@Param("afterId") Long afterId,
+            @Param("roleId") Long roleId, Limit limit);
+
+    @Query("SELECT new com.example.dto.UserSummaryDTO(u.id, u.username, u.email, u.phoneNumber, r.id, r.name, r.description) "
+            + "FROM User u JOIN u.role r WHERE u.id > :afterId "
+            + "AND (LOWER(u.username) LIKE :prefix ESCAPE '\\' OR LOWER(u.email) LIKE :prefix ESCAPE '\\') "
+            + "ORDER BY u.id")
+    List<UserSummaryDTO> searchDirectoryPage(@Param("afterId") Long afterId,
+            @Param("prefix") String prefix, Limit limit);
+
+    @Query("SELECT new com.example.dto.UserSummaryDTO(u.id, u.username, u.email, u.phoneNumber, r.id, r.name, r.description) "
+            + "FROM User u JOIN u.role r WHERE u.id > :afterId AND r.id = :roleId "
+            + "AND (LOWER(u.username) LIKE :prefix ESCAPE '\\' OR LOWER(u.email) LIKE :prefix ESCAPE '\\') "
+            + "ORDER BY u.id")
+    List<UserSummaryDTO> searchDirectoryPageByRole(@Param("afterId") Long afterId,
+            @Param("roleId") Long roleId, @Param("prefix") String prefix, Limit limit);
 }
@@ -0,0 +1,93 @@
+package com.example.security;
+
+import com.example.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable UserDetails that carries the user id and token version.
+ *
+ * Deliberately not a CredentialsContainer: instances are shared through
+ * UserDetailsCache, so Spring Security must not erase the password on them
+ * after authentication.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final String role;
+    private final long tokenVersion;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String password, String role, long tokenVersion,
+            List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole().getName(),
+                user.getTokenVersion(),
+                List.of(new SimpleGrantedAuthority(authority(user.getRole().getName()))));
+    }
+
+    /**
+     * The principal described by a verified token that carries the uid, role
+     * and ver claims. It has no password: the password is only needed at login.
+     */
+    public static AuthenticatedUser from(JwtClaims claims) {
+        return new AuthenticatedUser(
+                claims.userId(),
+                claims.username(),
+                null,
+                claims.role(),
+                claims.userVersion(),
+                List.of(new SimpleGrantedAuthority(authority(claims.role()))));
+    }
+
+    // Role names are stored as ROLE_ADMIN, ROLE_USER; accept bare names too
+    private static String authority(String role) {
+        String name = role.toUpperCase();
+        return name.startsWith("ROLE_") ? name : "ROLE_" + name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.security;
+
+import com.example.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hashes whole batches of passwords in parallel for bulk imports.
+ *
+ * Uses its own ForkJoinPool capped at {@code user-import.hashing-parallelism}
+ * threads (0 = half the CPUs) so an import cannot take over the machine or
+ * the PasswordHashingExecutor that serves logins.
+ */
+@Component
+public class BulkPasswordHasher {
+
+    // Same algorithm and strength as the application PasswordEncoder
+    private final PasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    @Value("${user-import.hashing-parallelism}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void start() {
+        int size = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        pool = new ForkJoinPool(size);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdown();
+    }
+
+    /**
+     * Hash every password, returning the hashes in input order.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        try {
+            // A parallel stream started inside the pool runs on the pool's workers
+            return pool.submit(() -> rawPasswords.parallelStream().map(encoder::encode).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -4,6 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.example.service.TokenRevocationService;
+import com.example.timing.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,10 +23,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            TokenRevocationService tokenRevocationService,
+            MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -39,7 +51,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Check if Authorization header is present and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -50,36 +61,67 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract JWT token
         jwt = authHeader.substring(7);
 
+        // Timed separately from the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = authenticate(request, jwt);
+        sample.stop(meterRegistry.timer("security.jwt.authentication", "outcome", outcome));
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authenticate the request from its bearer token if the token is valid.
+     *
+     * @return the outcome tag: authenticated, revoked, invalid, skipped or error
+     */
+    private String authenticate(HttpServletRequest request, String jwt) {
         try {
-            // Extract username from JWT
-            userEmail = jwtService.extractUsername(jwt);
-
-            // If username is found and no authentication is set in the context
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                // Validate token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-
-                    // Set authentication details
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // Update security context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            // Verify signature and expiry once; later checks reuse the claims
+            JwtClaims claims = jwtService.verify(jwt);
+
+            // Revoked tokens are rejected; the Bloom filter clears almost all requests in memory
+            if (tokenRevocationService.isRevoked(claims)) {
+                return "revoked";
+            }
+
+            // Nothing to do without a username or if the context is already authenticated
+            if (claims.username() == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+                return "skipped";
             }
+
+            // Only the current token version is needed from the stored user;
+            // UserDetailsCache serves it without a query on repeat requests
+            long lookupStarted = System.nanoTime();
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.username());
+            RequestTiming.userLoaded(lookupStarted);
+
+            // Validate token
+            if (!jwtService.isTokenValid(claims, userDetails)) {
+                return "invalid";
+            }
+
+            // Changing a user's role or renaming the role increments the token version,
+            // so a token that passed the version check carries the current role name;
+            // authorities come from its claims
+            UserDetails principal = claims.describesPrincipal() ? AuthenticatedUser.from(claims) : userDetails;
+
+            // Create authentication token
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    principal.getAuthorities());
+
+            // Set authentication details
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request));
+
+            // Update security context
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            return "authenticated";
         } catch (Exception e) {
             // Log error and continue filter chain (authentication will fail)
             logger.error("JWT authentication error: " + e.getMessage());
+            return "error";
         }
-
-        filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,28 @@
+package com.example.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has already been verified.
+ */
+public record JwtClaims(
+        String username,
+        String tokenId,
+        Long userId,
+        String role,
+        Long userVersion,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Whether the token carries everything needed to authorize it without the
+     * stored user: id, role and token version. Older tokens carry none of them.
+     */
+    public boolean describesPrincipal() {
+        return userId != null && role != null && userVersion != null;
+    }
+}
@@ -1,33 +1,107 @@
 package com.example.security;
 
+import com.example.cache.BoundedCache;
+import com.example.timing.RequestTiming;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_USER_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
+    @Value("${jwt.cache.max-size}")
+    private int cacheMaxSize;
+
+    // Built once; both are immutable and thread-safe
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    // SHA-256(token) -> claims of an already verified token, kept until the token expires
+    private BoundedCache<String, JwtClaims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signInKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        verifiedTokens = new BoundedCache<>(cacheMaxSize, jwtExpiration);
+    }
+
+    /**
+     * Verify a token and return its claims. The signature is checked at most
+     * once per distinct token; later calls are answered from a bounded cache
+     * that still enforces expiry.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public JwtClaims verify(String token) {
+        long started = System.nanoTime();
+        try {
+            return verifyCached(token);
+        } finally {
+            RequestTiming.jwtVerified(started);
+        }
+    }
+
+    private JwtClaims verifyCached(String token) {
+        String key = hash(token);
+
+        // Expired entries are not returned, so an expired token is parsed
+        // again and rejected by the parser with an ExpiredJwtException
+        JwtClaims cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        JwtClaims verified = new JwtClaims(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.get(CLAIM_ROLE, String.class),
+                claims.get(CLAIM_USER_VERSION, Long.class),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant());
+
+        verifiedTokens.put(key, verified, verified.expiresAt().toEpochMilli());
+        return verified;
+    }
+
     /**
      * Extract username from JWT token
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     /**
@@ -39,10 +113,18 @@ public class JwtService {
     }
 
     /**
-     * Generate token for user
+     * Generate token for user. Tokens for an AuthenticatedUser also carry the
+     * user id, role and token version so requests can be authorized from the
+     * token and the UserDetails cache alone.
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole());
+            claims.put(CLAIM_USER_VERSION, user.getTokenVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     /**
@@ -62,9 +144,10 @@ public class JwtService {
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
@@ -72,40 +155,50 @@ public class JwtService {
      * Validate token against user details
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
     /**
-     * Check if token is expired
+     * Validate already verified claims against user details. Tokens issued
+     * before the user's last credential/role change are rejected.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+        if (claims.userVersion() != null && userDetails instanceof AuthenticatedUser user
+                && claims.userVersion() != user.getTokenVersion()) {
+            return false;
+        }
+        return claims.username().equals(userDetails.getUsername())
+                && !claims.isExpired(Instant.now());
     }
 
-    /**
-     * Extract expiration date from token
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Verified-token cache statistics, for the cache.gets metric
+    public long cacheHits() {
+        return verifiedTokens.hits();
+    }
+
+    public long cacheMisses() {
+        return verifiedTokens.misses();
+    }
+
+    public int cacheSize() {
+        return verifiedTokens.size();
     }
 
     /**
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    /**
-     * Get the signing key
-     */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required on every Java platform
+            throw new IllegalStateException(e);
+        }
     }
 }
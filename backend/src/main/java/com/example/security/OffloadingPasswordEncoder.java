@@ -0,0 +1,60 @@
+package com.example.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder that runs the delegate's encode/matches on the
+ * PasswordHashingExecutor instead of the calling request thread.
+ *
+ * Both are timed as the caller sees them, queueing on the pool included:
+ * security.password.verify (outcome match, mismatch or rejected when the
+ * pool is full) and security.password.encode.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public OffloadingPasswordEncoder(
+            PasswordEncoder delegate,
+            PasswordHashingExecutor executor,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "rejected";
+        try {
+            String encoded = executor.execute(() -> delegate.encode(rawPassword));
+            outcome = "success";
+            return encoded;
+        } finally {
+            sample.stop(meterRegistry.timer("security.password.encode", "outcome", outcome));
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "rejected";
+        try {
+            boolean matches = executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+            outcome = matches ? "match" : "mismatch";
+            return matches;
+        } finally {
+            sample.stop(meterRegistry.timer("security.password.verify", "outcome", outcome));
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
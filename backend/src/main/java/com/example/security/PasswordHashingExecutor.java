@@ -0,0 +1,125 @@
+package com.example.security;
+
+import com.example.dto.PasswordHashingStatsDTO;
+import com.example.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated, bounded pool for BCrypt work.
+ *
+ * Keeps password hashing from competing with catalog requests for CPU: at most
+ * {@code password-hashing.threads} hashes run at once and at most
+ * {@code password-hashing.queue-capacity} wait. Anything beyond that is
+ * rejected immediately with a ServiceUnavailableException (503 + Retry-After)
+ * instead of tying up a request thread.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Value("${password-hashing.threads}")
+    private int threads;
+
+    @Value("${password-hashing.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${password-hashing.retry-after-seconds}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result.
+     *
+     * @throws ServiceUnavailableException if the pool and its queue are full
+     */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(
+                    "Authentication service is busy, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Password hashing was interrupted", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public PasswordHashingStatsDTO getStats() {
+        long count = completed.sum();
+        return new PasswordHashingStatsDTO(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                count,
+                rejected.sum(),
+                count > 0 ? hashNanos.sum() / 1e6 / count : 0.0,
+                maxHashNanos.get() / 1e6,
+                count > 0 ? waitNanos.sum() / 1e6 / count : 0.0);
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiting keyed by user id (valid bearer token) or client
+ * IP, with a separate budget per endpoint class.
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time"
+ * (the GCRA form of a token bucket): a request advances it by one token's
+ * worth of time with a CAS, and refill happens implicitly as the clock moves
+ * on. No locks, no background refill, no database. Buckets idle for longer
+ * than {@code rate-limit.idle-timeout} are swept lazily.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass {
+        BROWSE, SEARCH, AUTH, CHECKOUT, DEFAULT
+    }
+
+    private record Limit(long capacity, long nanosPerToken) {
+        static Limit of(long capacity, double refillPerSecond) {
+            return new Limit(capacity, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        }
+    }
+
+    private static final class Bucket {
+        final AtomicLong theoreticalArrival = new AtomicLong();
+        volatile long lastSeen;
+    }
+
+    private static final String REACTIVE_PREFIX = "/api/reactive";
+
+    private final JwtService jwtService;
+    private final LongSupplier nanoClock;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${rate-limit.enabled}")
+    private boolean enabled;
+
+    @Value("${rate-limit.idle-timeout}")
+    private long idleTimeoutMillis;
+
+    @Value("${rate-limit.trust-forwarded-for}")
+    private boolean trustForwardedFor;
+
+    @Value("${rate-limit.browse.capacity}")
+    private long browseCapacity;
+
+    @Value("${rate-limit.browse.refill-per-second}")
+    private double browseRefill;
+
+    @Value("${rate-limit.search.capacity}")
+    private long searchCapacity;
+
+    @Value("${rate-limit.search.refill-per-second}")
+    private double searchRefill;
+
+    @Value("${rate-limit.auth.capacity}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.refill-per-second}")
+    private double authRefill;
+
+    @Value("${rate-limit.checkout.capacity}")
+    private long checkoutCapacity;
+
+    @Value("${rate-limit.checkout.refill-per-second}")
+    private double checkoutRefill;
+
+    @Value("${rate-limit.default.capacity}")
+    private long defaultCapacity;
+
+    @Value("${rate-limit.default.refill-per-second}")
+    private double defaultRefill;
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    // nanoTime may be negative; bucket times are kept relative to this origin
+    private final long origin;
+
+    @Autowired
+    public RateLimitFilter(JwtService jwtService) {
+        this(jwtService, System::nanoTime);
+    }
+
+    RateLimitFilter(JwtService jwtService, LongSupplier nanoClock) {
+        this.jwtService = jwtService;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    @PostConstruct
+    void init() {
+        limits.put(EndpointClass.BROWSE, Limit.of(browseCapacity, browseRefill));
+        limits.put(EndpointClass.SEARCH, Limit.of(searchCapacity, searchRefill));
+        limits.put(EndpointClass.AUTH, Limit.of(authCapacity, authRefill));
+        limits.put(EndpointClass.CHECKOUT, Limit.of(checkoutCapacity, checkoutRefill));
+        limits.put(EndpointClass.DEFAULT, Limit.of(defaultCapacity, defaultRefill));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getServletPath().startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointClass endpointClass = classify(request);
+        Limit limit = limits.get(endpointClass);
+        long now = nanoClock.getAsLong() - origin;
+
+        Bucket bucket = buckets.computeIfAbsent(
+                endpointClass.name() + ':' + clientKey(request), key -> new Bucket());
+        bucket.lastSeen = now;
+
+        long burst = limit.capacity() * limit.nanosPerToken();
+        long remaining;
+        long resetNanos;
+        while (true) {
+            long arrival = bucket.theoreticalArrival.get();
+            long next = Math.max(arrival, now) + limit.nanosPerToken();
+            if (next - now > burst) {
+                // Rejected: the next token becomes available at next - burst
+                long retryAfterNanos = next - burst - now;
+                writeHeaders(response, limit, 0, Math.max(arrival, now) - now);
+                reject(request, response, retryAfterNanos);
+                sweepIfDue(now);
+                return;
+            }
+            if (bucket.theoreticalArrival.compareAndSet(arrival, next)) {
+                remaining = (burst - (next - now)) / limit.nanosPerToken();
+                resetNanos = next - now;
+                break;
+            }
+        }
+
+        writeHeaders(response, limit, remaining, resetNanos);
+        sweepIfDue(now);
+        filterChain.doFilter(request, response);
+    }
+
+    EndpointClass classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith(REACTIVE_PREFIX)) {
+            // The reactive catalog shares the budgets of the endpoints it mirrors
+            path = "/api" + path.substring(REACTIVE_PREFIX.length());
+        }
+        String method = request.getMethod();
+        if (path.startsWith("/api/auth/")) {
+            return EndpointClass.AUTH;
+        }
+        if (path.equals("/api/orders") && "POST".equals(method)) {
+            return EndpointClass.CHECKOUT;
+        }
+        if (path.startsWith("/api/products/search") || path.startsWith("/api/products/filter")) {
+            return EndpointClass.SEARCH;
+        }
+        if (path.startsWith("/api/products") && "GET".equals(method)) {
+            return EndpointClass.BROWSE;
+        }
+        return EndpointClass.DEFAULT;
+    }
+
+    String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                // Verified claims are cached, so JwtAuthenticationFilter does not verify again
+                JwtClaims claims = jwtService.verify(authHeader.substring(7));
+                if (claims.userId() != null) {
+                    return "u" + claims.userId();
+                }
+            } catch (Exception e) {
+                // Invalid token: fall back to the client address
+            }
+        }
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return "ip" + (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private void writeHeaders(HttpServletResponse response, Limit limit, long remaining, long resetNanos) {
+        response.setHeader("RateLimit-Limit", String.valueOf(limit.capacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(remaining));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSecondsCeil(resetNanos)));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterNanos)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSecondsCeil(retryAfterNanos))));
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", 429);
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, please retry later");
+        body.put("path", request.getServletPath());
+        mapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Drop buckets that have been idle long enough to be full again. At most
+     * one thread sweeps per interval.
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        if (now < due || !nextSweep.compareAndSet(due, now + idleNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket ->
+                now - bucket.lastSeen > idleNanos && bucket.theoreticalArrival.get() <= now);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (Math.max(0, nanos) + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.security;
+
+import com.example.cache.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, size-bounded cache of AuthenticatedUser by email.
+ *
+ * Lets JwtAuthenticationFilter authenticate repeat requests without touching
+ * the database. UserService and RoleService invalidate entries on writes; the
+ * TTL bounds staleness for changes made by other instances.
+ */
+@Component
+public class UserDetailsCache {
+
+    @Value("${user-details-cache.ttl}")
+    private long ttlMillis;
+
+    @Value("${user-details-cache.max-size}")
+    private int maxSize;
+
+    private BoundedCache<String, AuthenticatedUser> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new BoundedCache<>(maxSize, ttlMillis);
+    }
+
+    public AuthenticatedUser get(String email) {
+        return entries.get(email);
+    }
+
+    public void put(AuthenticatedUser user) {
+        entries.put(user.getUsername(), user);
+    }
+
+    public void invalidate(String email) {
+        entries.remove(email);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long hits() {
+        return entries.hits();
+    }
+
+    public long misses() {
+        return entries.misses();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.service;
 
+import com.example.config.ReplicaRoutingDataSource;
+import com.example.dto.LoginRequest;
+import com.example.dto.LoginResponse;
 import com.example.dto.RegisterRequest;
 import com.example.dto.UserDTO;
 import com.example.exception.DuplicateResourceException;
@@ -10,10 +13,19 @@ import com.example.model.User;
 import com.example.repository.AddressRepository;
 import com.example.repository.RoleRepository;
 import com.example.repository.UserRepository;
+import com.example.security.AuthenticatedUser;
+import com.example.security.JwtService;
+import com.example.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @Transactional
@@ -34,49 +46,117 @@ public class AuthService {
     @Autowired
     private UserService userService;
 
-    public UserDTO registerUser(RegisterRequest request) {
-        // Check for duplicate email
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException(
-                    "User already exists with email: '" + request.getEmail() + "'");
-        }
+    @Autowired
+    private JwtService jwtService;
 
-        // Check for duplicate username
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new DuplicateResourceException(
-                    "User already exists with username: '" + request.getUsername() + "'");
-        }
+    @Autowired
+    private UserDetailsCache userDetailsCache;
 
-        // Fetch role
-        Role role = roleRepository.findById(request.getRoleId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Role not found with id: '" + request.getRoleId() + "'"));
-
-        // Create address if provided
-        Address address = null;
-        if (request.getAddress() != null) {
-            address = new Address(
-                    request.getAddress().getZip(),
-                    request.getAddress().getCountry(),
-                    request.getAddress().getStreet(),
-                    request.getAddress().getProvince());
-            address = addressRepository.save(address);
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Hash compared against when the email is unknown, so both paths cost one BCrypt check
+    private volatile String unknownUserHash;
+
+    /**
+     * Verify credentials and issue a token, loading the user exactly once.
+     * Runs outside a transaction so no connection is held while BCrypt runs.
+     *
+     * @throws BadCredentialsException if the email is unknown or the password is wrong
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResponse login(LoginRequest request) {
+        // From the primary: a replica could still hold the old password hash,
+        // and the principal is cached for the JWT filter
+        Optional<User> user = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findByEmail(request.getEmail()));
+        String encodedPassword = user.map(User::getPassword).orElseGet(this::getUnknownUserHash);
+
+        boolean matches = passwordEncoder.matches(request.getPassword(), encodedPassword);
+        if (user.isEmpty() || !matches) {
+            throw new BadCredentialsException("Invalid email or password");
         }
 
-        // Create user with encoded password
-        User user = new User(
-                request.getUsername(),
-                request.getEmail(),
-                passwordEncoder.encode(request.getPassword()),
-                role,
-                request.getPhoneNumber(),
-                address);
-
-        User savedUser = userRepository.save(user);
-        return userService.convertToDTO(savedUser);
+        AuthenticatedUser principal = AuthenticatedUser.from(user.get());
+        userDetailsCache.put(principal);
+        return new LoginResponse(jwtService.generateToken(principal), userService.convertToDTO(user.get()));
+    }
+
+    /**
+     * Create the user and issue a token from the saved entity; the password
+     * was just hashed, so it is not verified a second time. Runs outside a
+     * transaction, like login, so no connection is held while BCrypt runs.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResponse register(RegisterRequest request) {
+        User savedUser = createUser(request);
+        String token = jwtService.generateToken(AuthenticatedUser.from(savedUser));
+        return new LoginResponse(token, userService.convertToDTO(savedUser));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO registerUser(RegisterRequest request) {
+        return userService.convertToDTO(createUser(request));
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         return userService.getUserByEmail(email);
     }
+
+    private User createUser(RegisterRequest request) {
+        // Hash first: inside the transaction the connection would wait on the
+        // bounded hashing pool, and signups would drain the connection pool
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+
+        // Checks and inserts in one short transaction on the primary
+        return transactionTemplate.execute(status -> {
+            // Check for duplicate email
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new DuplicateResourceException(
+                        "User already exists with email: '" + request.getEmail() + "'");
+            }
+
+            // Check for duplicate username
+            if (userRepository.existsByUsername(request.getUsername())) {
+                throw new DuplicateResourceException(
+                        "User already exists with username: '" + request.getUsername() + "'");
+            }
+
+            // Fetch role
+            Role role = roleRepository.findById(request.getRoleId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Role not found with id: '" + request.getRoleId() + "'"));
+
+            // Create address if provided
+            Address address = null;
+            if (request.getAddress() != null) {
+                address = new Address(
+                        request.getAddress().getZip(),
+                        request.getAddress().getCountry(),
+                        request.getAddress().getStreet(),
+                        request.getAddress().getProvince());
+                address = addressRepository.save(address);
+            }
+
+            // Create user with the encoded password
+            User user = new User(
+                    request.getUsername(),
+                    request.getEmail(),
+                    encodedPassword,
+                    role,
+                    request.getPhoneNumber(),
+                    address);
+
+            return userRepository.save(user);
+        });
+    }
+
+    private String getUnknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
 }
@@ -2,6 +2,8 @@ package com.example.service;
 
 import com.example.dto.AddToBasketRequest;
 import com.example.dto.BasketItemDTO;
+import com.example.dto.BasketOperationRequest;
+import com.example.dto.BasketSummaryDTO;
 import com.example.dto.ProductDTO;
 import com.example.exception.InsufficientStockException;
 import com.example.exception.InvalidOperationException;
@@ -16,8 +18,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +41,9 @@ public class BasketService {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private BasketSummaryCache basketSummaryCache;
+    
     public BasketItemDTO addToBasket(AddToBasketRequest request) {
         User user = userRepository.findById(request.getUserId())
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -79,9 +90,12 @@ public class BasketService {
         }
         
         Basket savedBasket = basketRepository.save(basket);
+        basketSummaryCache.lineChanged(user.getId(), product.getId(), 
+            savedBasket.getQuantity(), product.getPrice());
         return convertToDTO(savedBasket);
     }
     
+    @Transactional(readOnly = true)
     public List<BasketItemDTO> getUserBasket(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException(
@@ -94,11 +108,21 @@ public class BasketService {
     }
     
     public long getBasketItemCount(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        return getBasketSummary(userId).getItemCount();
+    }
+    
+    /**
+     * Served from BasketSummaryCache; the database is only hit the first time
+     * a user's summary is requested. Not read-only on purpose: the cache is
+     * seeded once and then kept current by commits, so it must be seeded
+     * from the primary rather than a lagging replica.
+     */
+    public BasketSummaryDTO getBasketSummary(Long userId) {
+        if (!basketSummaryCache.isLoaded(userId) && !userRepository.existsById(userId)) {
             throw new ResourceNotFoundException(
                 "User not found with id: '" + userId + "'");
         }
-        return basketRepository.countByUserId(userId);
+        return basketSummaryCache.getSummary(userId);
     }
     
     public BasketItemDTO updateBasketItemQuantity(Long basketItemId, Integer quantity) {
@@ -121,15 +145,18 @@ public class BasketService {
         
         basket.setQuantity(quantity);
         Basket updatedBasket = basketRepository.save(basket);
+        basketSummaryCache.lineChanged(basket.getUser().getId(), product.getId(), 
+            quantity, product.getPrice());
         return convertToDTO(updatedBasket);
     }
     
     public void removeBasketItem(Long basketItemId) {
-        if (!basketRepository.existsById(basketItemId)) {
-            throw new ResourceNotFoundException(
-                "Basket item not found with id: '" + basketItemId + "'");
-        }
-        basketRepository.deleteById(basketItemId);
+        Basket basket = basketRepository.findById(basketItemId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                "Basket item not found with id: '" + basketItemId + "'"));
+        basketRepository.delete(basket);
+        basketSummaryCache.lineChanged(basket.getUser().getId(), basket.getProduct().getId(), 
+            0, basket.getProduct().getPrice());
     }
     
     public void clearUserBasket(Long userId) {
@@ -138,9 +165,114 @@ public class BasketService {
                 "User not found with id: '" + userId + "'");
         }
         basketRepository.deleteByUserId(userId);
+        basketSummaryCache.basketCleared(userId);
+    }
+    
+    /**
+     * Apply an ordered list of add/set/remove operations to a user's basket in a
+     * single transaction. Products are fetched with one query, operations are
+     * replayed in memory and the result is written back with batched statements.
+     * Any invalid operation rolls back the whole batch.
+     */
+    public List<BasketItemDTO> applyBatch(Long userId, List<BasketOperationRequest> operations) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                "User not found with id: '" + userId + "'"));
+        
+        // Single fetch for every product referenced by the batch
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (BasketOperationRequest operation : operations) {
+            productIds.add(operation.getProductId());
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        
+        // Current basket lines keyed by product, plus their original quantities
+        Map<Long, Basket> existing = new HashMap<>();
+        Map<Long, Integer> originalQuantities = new HashMap<>();
+        Map<Long, Basket> lines = new LinkedHashMap<>();
+        for (Basket basket : basketRepository.findByUserId(userId)) {
+            Long productId = basket.getProduct().getId();
+            existing.put(productId, basket);
+            originalQuantities.put(productId, basket.getQuantity());
+            lines.put(productId, basket);
+        }
+        
+        for (BasketOperationRequest operation : operations) {
+            Long productId = operation.getProductId();
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ResourceNotFoundException(
+                    "Product not found with id: '" + productId + "'");
+            }
+            
+            if (operation.getType() == BasketOperationRequest.Type.REMOVE) {
+                lines.remove(productId);
+                continue;
+            }
+            
+            Integer quantity = operation.getQuantity();
+            if (quantity == null || quantity <= 0) {
+                throw new InvalidOperationException("Quantity must be greater than 0");
+            }
+            
+            Basket line = lines.get(productId);
+            int newQuantity = quantity;
+            if (operation.getType() == BasketOperationRequest.Type.ADD && line != null) {
+                newQuantity += line.getQuantity();
+            }
+            
+            if (product.getQuantity() < newQuantity) {
+                throw new InsufficientStockException(
+                    "Insufficient stock for product '" + product.getName() + 
+                    "'. Available: " + product.getQuantity() + 
+                    ", Requested: " + newQuantity);
+            }
+            
+            if (line == null) {
+                // Reuse a line removed earlier in the same batch instead of re-inserting it
+                line = existing.containsKey(productId)
+                    ? existing.get(productId)
+                    : new Basket(user, product, newQuantity);
+                lines.put(productId, line);
+            }
+            line.setQuantity(newQuantity);
+        }
+        
+        List<Basket> toDelete = new ArrayList<>();
+        for (Map.Entry<Long, Basket> entry : existing.entrySet()) {
+            if (!lines.containsKey(entry.getKey())) {
+                toDelete.add(entry.getValue());
+            }
+        }
+        
+        List<Basket> toSave = new ArrayList<>();
+        for (Map.Entry<Long, Basket> entry : lines.entrySet()) {
+            Basket line = entry.getValue();
+            if (line.getId() == null
+                    || !line.getQuantity().equals(originalQuantities.get(entry.getKey()))) {
+                toSave.add(line);
+            }
+        }
+        
+        basketRepository.deleteAll(toDelete);
+        basketRepository.saveAll(toSave);
+        
+        for (Long productId : productIds) {
+            Basket line = lines.get(productId);
+            basketSummaryCache.lineChanged(userId, productId, 
+                line != null ? line.getQuantity() : 0, products.get(productId).getPrice());
+        }
+        
+        return lines.values().stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
     }
     
-    private BasketItemDTO convertToDTO(Basket basket) {
+    // Package-private for DtoMappingBenchmark (src/jmh)
+    BasketItemDTO convertToDTO(Basket basket) {
         Product product = basket.getProduct();
         
         // Create ProductDTO with all product details
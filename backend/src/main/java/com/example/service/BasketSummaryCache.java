@@ -0,0 +1,248 @@
+package com.example.service;
+
+import com.example.cache.BoundedCache;
+import com.example.dto.BasketSummaryDTO;
+import com.example.model.Basket;
+import com.example.repository.BasketRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory per-user basket summary (line count, unit count, subtotal).
+ *
+ * A user's summary is loaded from the database once, then kept up to date by
+ * BasketService, OrderService and ProductService. Updates carry the absolute
+ * quantity/price of a line rather than a delta, so they are idempotent, and
+ * they are applied only after the surrounding transaction commits.
+ *
+ * At most {@code basket-summary-cache.max-size} users are held, each for at
+ * most {@code basket-summary-cache.ttl}, which also bounds how long a change
+ * made by another instance can go unseen here.
+ */
+@Component
+public class BasketSummaryCache {
+    
+    private static final int WRITE_STRIPES = 64;
+    
+    @Autowired
+    private BasketRepository basketRepository;
+    
+    @Value("${basket-summary-cache.max-size}")
+    private int maxSize;
+    
+    @Value("${basket-summary-cache.ttl}")
+    private long ttlMillis;
+    
+    private BoundedCache<Long, Entry> entries;
+    
+    // productId -> users whose cached basket contains that product
+    private final ConcurrentHashMap<Long, Set<Long>> holders = new ConcurrentHashMap<>();
+    
+    // Bumped before every committed basket change (striped by user) and price
+    // change, so a summary loaded concurrently with one is not cached
+    private final AtomicLongArray basketWrites = new AtomicLongArray(WRITE_STRIPES);
+    private final AtomicLong priceWrites = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        entries = new BoundedCache<>(maxSize, ttlMillis, this::removeHolders);
+    }
+    
+    public boolean isLoaded(Long userId) {
+        return entries.containsKey(userId);
+    }
+    
+    public BasketSummaryDTO getSummary(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            entry = load(userId);
+        }
+        return entry.toDTO(userId);
+    }
+    
+    public long hits() {
+        return entries.hits();
+    }
+    
+    public long misses() {
+        return entries.misses();
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Record the new quantity of a basket line; a quantity of 0 means the line was removed.
+     */
+    public void lineChanged(Long userId, Long productId, int quantity, double price) {
+        TransactionCallbacks.afterCommit(() -> {
+            basketWrites.incrementAndGet(stripe(userId));
+            entries.computeIfPresent(userId, (id, entry) -> {
+                entry.setLine(productId, quantity, toCents(price));
+                if (quantity > 0) {
+                    holders.computeIfAbsent(productId, key -> ConcurrentHashMap.newKeySet()).add(userId);
+                } else {
+                    removeHolder(productId, userId);
+                }
+                return entry;
+            });
+        });
+    }
+    
+    public void basketCleared(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            basketWrites.incrementAndGet(stripe(userId));
+            entries.computeIfPresent(userId, (id, entry) -> {
+                for (Long productId : entry.clear()) {
+                    removeHolder(productId, userId);
+                }
+                return entry;
+            });
+        });
+    }
+    
+    public void priceChanged(Long productId, double price) {
+        long cents = toCents(price);
+        TransactionCallbacks.afterCommit(() -> {
+            priceWrites.incrementAndGet();
+            Set<Long> users = holders.get(productId);
+            if (users == null) {
+                return;
+            }
+            for (Long userId : users) {
+                entries.computeIfPresent(userId, (id, entry) -> {
+                    entry.repriceLine(productId, cents);
+                    return entry;
+                });
+            }
+        });
+    }
+    
+    /**
+     * Drop a deleted user's summary.
+     */
+    public void userDeleted(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            basketWrites.incrementAndGet(stripe(userId));
+            Entry entry = entries.remove(userId);
+            if (entry != null) {
+                removeHolders(userId, entry);
+            }
+        });
+    }
+    
+    /**
+     * Query outside any map lock, so a slow query does not hold up other users
+     * (or pin a virtual thread); then cache the result unless a change
+     * committed in the meantime may be missing from it.
+     */
+    private Entry load(Long userId) {
+        long basketStamp = basketWrites.get(stripe(userId));
+        long priceStamp = priceWrites.get();
+        
+        Entry loaded = new Entry();
+        for (Basket basket : basketRepository.findByUserId(userId)) {
+            loaded.setLine(basket.getProduct().getId(), basket.getQuantity(), toCents(basket.getProduct().getPrice()));
+        }
+        
+        Entry cached = entries.computeIfAbsent(userId, id -> {
+            // Register as a holder before the checks: a price change that
+            // bumps the stamp after them finds this user and then waits for
+            // this bin, so it updates the cached entry
+            Set<Long> productIds = loaded.productIds();
+            for (Long productId : productIds) {
+                holders.computeIfAbsent(productId, key -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+            if (basketWrites.get(stripe(userId)) != basketStamp || priceWrites.get() != priceStamp) {
+                for (Long productId : productIds) {
+                    removeHolder(productId, userId);
+                }
+                return null;
+            }
+            return loaded;
+        });
+        return cached != null ? cached : loaded;
+    }
+    
+    private void removeHolders(Long userId, Entry entry) {
+        for (Long productId : entry.productIds()) {
+            removeHolder(productId, userId);
+        }
+    }
+    
+    private void removeHolder(Long productId, Long userId) {
+        holders.computeIfPresent(productId, (id, users) -> {
+            users.remove(userId);
+            return users.isEmpty() ? null : users;
+        });
+    }
+    
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (WRITE_STRIPES - 1);
+    }
+    
+    private static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+    
+    /**
+     * Running totals for one user. Written inside BoundedCache.compute* (under
+     * the owning map bin), and guarded by its own monitor for reads.
+     */
+    private static final class Entry {
+        
+        // productId -> {quantity, unit price in cents}
+        private final Map<Long, long[]> lines = new HashMap<>();
+        private long units;
+        private long subtotalCents;
+        
+        synchronized void setLine(Long productId, int quantity, long priceCents) {
+            long[] line = lines.get(productId);
+            if (line != null) {
+                units -= line[0];
+                subtotalCents -= line[0] * line[1];
+            }
+            if (quantity > 0) {
+                lines.put(productId, new long[] { quantity, priceCents });
+                units += quantity;
+                subtotalCents += quantity * priceCents;
+            } else {
+                lines.remove(productId);
+            }
+        }
+        
+        synchronized void repriceLine(Long productId, long priceCents) {
+            long[] line = lines.get(productId);
+            if (line != null) {
+                subtotalCents += line[0] * (priceCents - line[1]);
+                line[1] = priceCents;
+            }
+        }
+        
+        synchronized Set<Long> productIds() {
+            return Set.copyOf(lines.keySet());
+        }
+        
+        synchronized Set<Long> clear() {
+            Set<Long> productIds = Set.copyOf(lines.keySet());
+            lines.clear();
+            units = 0;
+            subtotalCents = 0;
+            return productIds;
+        }
+        
+        synchronized BasketSummaryDTO toDTO(Long userId) {
+            return new BasketSummaryDTO(userId, lines.size(), units, subtotalCents / 100.0);
+        }
+    }
+}
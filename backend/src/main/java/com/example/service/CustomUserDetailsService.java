@@ -1,37 +1,39 @@
 package com.example.service;
 
+import com.example.config.ReplicaRoutingDataSource;
 import com.example.model.User;
 import com.example.repository.UserRepository;
+import com.example.security.AuthenticatedUser;
+import com.example.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Collections;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        AuthenticatedUser cached = userDetailsCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                getAuthorities(user));
-    }
+        // The token version is cached and decides which tokens pass, so it must
+        // not come from a lagging replica; no user is signed in yet to route on
+        User user = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findByEmail(email))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        return Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().getName().toUpperCase()));
+        AuthenticatedUser userDetails = AuthenticatedUser.from(user);
+        userDetailsCache.put(userDetails);
+        return userDetails;
     }
 }
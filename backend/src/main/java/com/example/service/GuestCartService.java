@@ -0,0 +1,167 @@
+package com.example.service;
+
+import com.example.dto.BasketItemDTO;
+import com.example.dto.BasketOperationRequest;
+import com.example.dto.GuestCartDTO;
+import com.example.dto.GuestCartItemRequest;
+import com.example.dto.OrderItemDTO;
+import com.example.exception.InsufficientStockException;
+import com.example.exception.InvalidOperationException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.model.Product;
+import com.example.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class GuestCartService {
+    
+    @Autowired
+    private GuestCartStore guestCartStore;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private BasketService basketService;
+    
+    public GuestCartDTO createCart() {
+        String token = guestCartStore.create();
+        return new GuestCartDTO(token, new ArrayList<>(), 0.0);
+    }
+    
+    @Transactional(readOnly = true)
+    public GuestCartDTO getCart(String token) {
+        return convertToDTO(token, getLines(token));
+    }
+    
+    public GuestCartDTO addItem(String token, GuestCartItemRequest request) {
+        Product product = productRepository.findById(request.getProductId())
+            .orElseThrow(() -> new ResourceNotFoundException(
+                "Product not found with id: '" + request.getProductId() + "'"));
+        
+        int newQuantity = getLines(token).getOrDefault(product.getId(), 0) + request.getQuantity();
+        checkStock(product, newQuantity);
+        setQuantity(token, product.getId(), newQuantity);
+        return getCart(token);
+    }
+    
+    public GuestCartDTO updateItemQuantity(String token, Long productId, Integer quantity) {
+        if (quantity <= 0) {
+            throw new InvalidOperationException("Quantity must be greater than 0");
+        }
+        
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                "Product not found with id: '" + productId + "'"));
+        
+        if (!getLines(token).containsKey(productId)) {
+            throw new ResourceNotFoundException(
+                "Product '" + productId + "' is not in guest cart");
+        }
+        checkStock(product, quantity);
+        setQuantity(token, productId, quantity);
+        return getCart(token);
+    }
+    
+    public GuestCartDTO removeItem(String token, Long productId) {
+        setQuantity(token, productId, 0);
+        return getCart(token);
+    }
+    
+    public void deleteCart(String token) {
+        if (guestCartStore.remove(token) == null) {
+            throw notFound(token);
+        }
+    }
+    
+    /**
+     * Merge a guest cart into a user's basket. The cart is discarded once the
+     * basket changes have committed.
+     */
+    public List<BasketItemDTO> promoteToBasket(String token, Long userId) {
+        Map<Long, Integer> lines = getLines(token);
+        if (lines.isEmpty()) {
+            throw new InvalidOperationException("Guest cart is empty");
+        }
+        
+        List<BasketOperationRequest> operations = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            operations.add(new BasketOperationRequest(
+                BasketOperationRequest.Type.ADD, line.getKey(), line.getValue()));
+        }
+        
+        List<BasketItemDTO> basket = basketService.applyBatch(userId, operations);
+        discardAfterCommit(token);
+        return basket;
+    }
+    
+    /**
+     * Lines of a guest cart as checkout items.
+     */
+    public List<OrderItemDTO> getCheckoutItems(String token) {
+        List<OrderItemDTO> items = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : getLines(token).entrySet()) {
+            items.add(new OrderItemDTO(line.getKey(), line.getValue(), null));
+        }
+        return items;
+    }
+    
+    public void discardAfterCommit(String token) {
+        TransactionCallbacks.afterCommit(() -> guestCartStore.remove(token));
+    }
+    
+    private Map<Long, Integer> getLines(String token) {
+        Map<Long, Integer> lines = guestCartStore.get(token);
+        if (lines == null) {
+            throw notFound(token);
+        }
+        return lines;
+    }
+    
+    private void setQuantity(String token, Long productId, int quantity) {
+        if (!guestCartStore.setQuantity(token, productId, quantity)) {
+            throw notFound(token);
+        }
+    }
+    
+    private void checkStock(Product product, int quantity) {
+        if (product.getQuantity() < quantity) {
+            throw new InsufficientStockException(
+                "Insufficient stock for product '" + product.getName() + 
+                "'. Available: " + product.getQuantity() + 
+                ", Requested: " + quantity);
+        }
+    }
+    
+    private ResourceNotFoundException notFound(String token) {
+        return new ResourceNotFoundException("Guest cart not found or expired: '" + token + "'");
+    }
+    
+    private GuestCartDTO convertToDTO(String token, Map<Long, Integer> lines) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(lines.keySet())) {
+            products.put(product.getId(), product);
+        }
+        
+        List<OrderItemDTO> items = new ArrayList<>();
+        double subtotal = 0.0;
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                // Product was deleted after it was added to the cart
+                continue;
+            }
+            items.add(new OrderItemDTO(product.getId(), line.getValue(), product.getPrice()));
+            subtotal += line.getValue() * product.getPrice();
+        }
+        return new GuestCartDTO(token, items, subtotal);
+    }
+}
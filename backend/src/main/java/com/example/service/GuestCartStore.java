@@ -0,0 +1,273 @@
+package com.example.service;
+
+import com.example.exception.InvalidOperationException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Server-side carts for anonymous visitors, keyed by an opaque token.
+ *
+ * The store is bounded by an estimated byte budget rather than an entry count:
+ * each cart is charged a fixed overhead plus the size of its line arrays, and
+ * the least recently used carts are evicted whenever the budget is exceeded.
+ * Carts idle for longer than the TTL are dropped lazily on access and during
+ * eviction sweeps.
+ *
+ * Carts are spread over {@value #STRIPES} independently locked segments by
+ * token hash, so concurrent visitors rarely wait on each other. Each segment
+ * gets an equal share of the byte budget and its own LRU order; tokens are
+ * random, so the segments fill evenly and eviction stays close to a global LRU.
+ */
+@Component
+public class GuestCartStore {
+    
+    // Map entry, token string, cart header and array headers
+    static final long CART_OVERHEAD_BYTES = 200;
+    // One long product id plus one int quantity
+    static final long LINE_BYTES = Long.BYTES + Integer.BYTES;
+    
+    static final int STRIPES = 16;
+    
+    private static final int INITIAL_LINES = 4;
+    
+    @Value("${guest-cart.max-bytes}")
+    private long maxBytes;
+    
+    @Value("${guest-cart.max-lines}")
+    private int maxLines;
+    
+    @Value("${guest-cart.ttl}")
+    private long ttlMillis;
+    
+    private final SecureRandom random = new SecureRandom();
+    
+    private final Segment[] segments = new Segment[STRIPES];
+    
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new Segment(maxBytes / STRIPES);
+        }
+    }
+    
+    public String create() {
+        while (true) {
+            byte[] bytes = new byte[16];
+            random.nextBytes(bytes);
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            if (segmentFor(token).create(token)) {
+                return token;
+            }
+        }
+    }
+    
+    /**
+     * Snapshot of a cart's lines (productId -> quantity), or null if the cart
+     * does not exist or has expired.
+     */
+    public Map<Long, Integer> get(String token) {
+        return segmentFor(token).get(token);
+    }
+    
+    /**
+     * Set the quantity of a line; a quantity of 0 removes it.
+     *
+     * @return false if the cart does not exist or has expired
+     */
+    public boolean setQuantity(String token, Long productId, int quantity) {
+        return segmentFor(token).setQuantity(token, productId, quantity);
+    }
+    
+    /**
+     * Remove a cart and return its lines, or null if it does not exist or has expired.
+     */
+    public Map<Long, Integer> remove(String token) {
+        return segmentFor(token).remove(token);
+    }
+    
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+    
+    public long usedBytes() {
+        long used = 0;
+        for (Segment segment : segments) {
+            used += segment.usedBytes();
+        }
+        return used;
+    }
+    
+    private Segment segmentFor(String token) {
+        int hash = token.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+    
+    /**
+     * One lock, LRU order and byte budget. Only in-memory work runs under the
+     * monitor, so it never pins a virtual thread across I/O.
+     */
+    private final class Segment {
+        
+        private final long maxBytes;
+        
+        // Access-ordered: iteration starts at the least recently used cart
+        private final LinkedHashMap<String, Cart> carts = new LinkedHashMap<>(64, 0.75f, true);
+        
+        private long usedBytes;
+        
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+        
+        synchronized boolean create(String token) {
+            if (carts.containsKey(token)) {
+                return false;
+            }
+            Cart cart = new Cart(System.currentTimeMillis());
+            carts.put(token, cart);
+            usedBytes += cart.estimatedBytes();
+            evict();
+            return true;
+        }
+        
+        synchronized Map<Long, Integer> get(String token) {
+            Cart cart = touch(token);
+            return cart != null ? cart.toMap() : null;
+        }
+        
+        synchronized boolean setQuantity(String token, Long productId, int quantity) {
+            Cart cart = touch(token);
+            if (cart == null) {
+                return false;
+            }
+            if (quantity > 0 && cart.indexOf(productId) < 0 && cart.size >= maxLines) {
+                throw new InvalidOperationException(
+                    "Guest cart cannot contain more than " + maxLines + " products");
+            }
+            
+            long before = cart.estimatedBytes();
+            cart.set(productId, quantity);
+            usedBytes += cart.estimatedBytes() - before;
+            evict();
+            return true;
+        }
+        
+        synchronized Map<Long, Integer> remove(String token) {
+            Cart cart = touch(token);
+            if (cart == null) {
+                return null;
+            }
+            carts.remove(token);
+            usedBytes -= cart.estimatedBytes();
+            return cart.toMap();
+        }
+        
+        synchronized int size() {
+            return carts.size();
+        }
+        
+        synchronized long usedBytes() {
+            return usedBytes;
+        }
+        
+        private Cart touch(String token) {
+            Cart cart = carts.get(token);
+            if (cart == null) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            if (now - cart.lastAccess > ttlMillis) {
+                carts.remove(token);
+                usedBytes -= cart.estimatedBytes();
+                return null;
+            }
+            cart.lastAccess = now;
+            return cart;
+        }
+        
+        private void evict() {
+            long now = System.currentTimeMillis();
+            Iterator<Cart> iterator = carts.values().iterator();
+            while (iterator.hasNext()) {
+                Cart cart = iterator.next();
+                boolean expired = now - cart.lastAccess > ttlMillis;
+                if (!expired && usedBytes <= maxBytes) {
+                    break;
+                }
+                iterator.remove();
+                usedBytes -= cart.estimatedBytes();
+            }
+        }
+    }
+    
+    /**
+     * Parallel primitive arrays instead of a map to keep per-cart overhead small.
+     */
+    private static final class Cart {
+        
+        private long[] productIds = new long[INITIAL_LINES];
+        private int[] quantities = new int[INITIAL_LINES];
+        private int size;
+        private long lastAccess;
+        
+        Cart(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+        
+        int indexOf(Long productId) {
+            for (int i = 0; i < size; i++) {
+                if (productIds[i] == productId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        void set(Long productId, int quantity) {
+            int index = indexOf(productId);
+            if (quantity <= 0) {
+                if (index >= 0) {
+                    size--;
+                    productIds[index] = productIds[size];
+                    quantities[index] = quantities[size];
+                }
+                return;
+            }
+            if (index >= 0) {
+                quantities[index] = quantity;
+                return;
+            }
+            if (size == productIds.length) {
+                productIds = Arrays.copyOf(productIds, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+            }
+            productIds[size] = productId;
+            quantities[size] = quantity;
+            size++;
+        }
+        
+        Map<Long, Integer> toMap() {
+            Map<Long, Integer> lines = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                lines.put(productIds[i], quantities[i]);
+            }
+            return lines;
+        }
+        
+        long estimatedBytes() {
+            return CART_OVERHEAD_BYTES + (long) productIds.length * LINE_BYTES;
+        }
+    }
+}
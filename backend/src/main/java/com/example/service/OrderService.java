@@ -9,6 +9,8 @@ import com.example.exception.ResourceNotFoundException;
 import com.example.exception.InsufficientStockException;
 import com.example.model.*;
 import com.example.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,7 +37,22 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private BasketSummaryCache basketSummaryCache;
+
+    @Autowired
+    private GuestCartService guestCartService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public OrderDTO createOrder(CreateOrderRequest request) {
+        // orders.create includes flush and commit: the sample stops when the transaction completes
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String type = request.isGuestOrder() ? "guest" : "user";
+        TransactionCallbacks.afterCompletion(committed -> sample.stop(meterRegistry.timer(
+                "orders.create", "type", type, "outcome", committed ? "success" : "error")));
+
         if (request.isGuestOrder()) {
             return createGuestOrder(request);
         } else {
@@ -91,6 +108,7 @@ public class OrderService {
 
         // Clear user's basket after successful order
         basketRepository.deleteByUserId(request.getUserId());
+        basketSummaryCache.basketCleared(request.getUserId());
 
         return convertToDTO(savedOrder);
     }
@@ -104,7 +122,12 @@ public class OrderService {
             throw new InvalidOperationException("Guest shipping address is required");
         }
 
-        if (request.getItems() == null || request.getItems().isEmpty()) {
+        List<OrderItemDTO> items = request.getItems();
+        if ((items == null || items.isEmpty()) && request.getGuestCartToken() != null) {
+            items = guestCartService.getCheckoutItems(request.getGuestCartToken());
+        }
+
+        if (items == null || items.isEmpty()) {
             throw new InvalidOperationException("Order items are required for guest checkout");
         }
 
@@ -124,7 +147,7 @@ public class OrderService {
 
         // Validate stock and calculate total
         double total = 0.0;
-        for (OrderItemDTO item : request.getItems()) {
+        for (OrderItemDTO item : items) {
             Product product = productRepository.findById(item.getProductId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Product not found with id: '" + item.getProductId() + "'"));
@@ -145,7 +168,7 @@ public class OrderService {
         Order order = new Order(guestUser, savedAddress, total);
 
         // Reduce inventory
-        for (OrderItemDTO item : request.getItems()) {
+        for (OrderItemDTO item : items) {
             Product product = productRepository.findById(item.getProductId()).get();
             product.setQuantity(product.getQuantity() - item.getQuantity());
             productRepository.save(product);
@@ -153,9 +176,14 @@ public class OrderService {
 
         Order savedOrder = orderRepository.save(order);
 
+        if (request.getGuestCartToken() != null) {
+            guestCartService.discardAfterCommit(request.getGuestCartToken());
+        }
+
         return convertToDTO(savedOrder);
     }
 
+    @Transactional(readOnly = true)
     public OrderDTO getOrderById(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -163,12 +191,14 @@ public class OrderService {
         return convertToDTO(order);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDTO> getAllOrders() {
         return orderRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDTO> getUserOrders(Long userId) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException(
@@ -179,6 +209,7 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByStatus(OrderStatus status) {
         return orderRepository.findByStatus(status).stream()
                 .map(this::convertToDTO)
@@ -228,7 +259,8 @@ public class OrderService {
         orderRepository.save(order);
     }
 
-    private OrderDTO convertToDTO(Order order) {
+    // Public for WarmupRunner; also used by DtoMappingBenchmark (src/jmh)
+    public OrderDTO convertToDTO(Order order) {
         AddressDTO addressDTO = new AddressDTO(
                 order.getAddress().getId(),
                 order.getAddress().getZip(),
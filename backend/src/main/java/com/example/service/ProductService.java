@@ -30,6 +30,9 @@ public class ProductService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private BasketSummaryCache basketSummaryCache;
+    
     public ProductDTO createProduct(CreateProductRequest request) {
         if (request.getQuantity() < 0) {
             throw new InvalidOperationException("Product quantity cannot be negative");
@@ -57,6 +60,7 @@ public class ProductService {
         return convertToDTO(savedProduct);
     }
     
+    @Transactional(readOnly = true)
     public ProductDTO getProductById(Long id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -64,6 +68,7 @@ public class ProductService {
         return convertToDTO(product);
     }
     
+    @Transactional(readOnly = true)
     public List<ProductDTO> getAllProducts(boolean availableOnly) {
         List<Product> products;
         if (availableOnly) {
@@ -76,6 +81,7 @@ public class ProductService {
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductDTO> getProductsByBrand(Long brandId) {
         if (!brandRepository.existsById(brandId)) {
             throw new ResourceNotFoundException(
@@ -86,6 +92,7 @@ public class ProductService {
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductDTO> getProductsByCategory(Long categoryId) {
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException(
@@ -96,12 +103,14 @@ public class ProductService {
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductDTO> searchProducts(String name) {
         return productRepository.findByNameContainingIgnoreCase(name).stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ProductDTO> filterProducts(Long brandId, Long categoryId) {
         if (brandId != null && categoryId != null) {
             return productRepository.findByBrandIdAndCategoryId(brandId, categoryId).stream()
@@ -133,6 +142,8 @@ public class ProductService {
             .orElseThrow(() -> new ResourceNotFoundException(
                 "Category not found with id: '" + request.getCategoryId() + "'"));
         
+        boolean priceChanged = !request.getPrice().equals(product.getPrice());
+        
         product.setName(request.getName());
         product.setQuantity(request.getQuantity());
         product.setPrice(request.getPrice());
@@ -142,6 +153,9 @@ public class ProductService {
         product.setCategory(category);
         
         Product updatedProduct = productRepository.save(product);
+        if (priceChanged) {
+            basketSummaryCache.priceChanged(id, updatedProduct.getPrice());
+        }
         return convertToDTO(updatedProduct);
     }
     
@@ -167,7 +181,8 @@ public class ProductService {
         productRepository.deleteById(id);
     }
     
-    private ProductDTO convertToDTO(Product product) {
+    // Public for WarmupRunner; also used by DtoMappingBenchmark (src/jmh)
+    public ProductDTO convertToDTO(Product product) {
         return new ProductDTO(
             product.getId(),
             product.getName(),
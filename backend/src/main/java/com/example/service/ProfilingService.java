@@ -0,0 +1,397 @@
+package com.example.service;
+
+import com.example.dto.ProfileEntryDTO;
+import com.example.dto.ProfilingSummaryDTO;
+import com.example.dto.RecordingDTO;
+import com.example.dto.StartRecordingRequest;
+import com.example.exception.InvalidOperationException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-demand Java Flight Recorder sessions for diagnosing production.
+ *
+ * At most one recording runs at a time; it stops itself after its duration
+ * (capped at {@code profiling.max-duration-seconds}) and keeps at most
+ * {@code profiling.max-size-mb} of events. Finished recordings are written
+ * to {@code profiling.directory}, which never holds more than
+ * {@code profiling.max-files} of them: the oldest are deleted first. The
+ * summary parses a whole file, so only one is computed at a time.
+ */
+@Service
+public class ProfilingService {
+
+    /**
+     * Event settings layered over JFR's low-overhead "default" configuration.
+     */
+    public enum Profile {
+        // Threads running Java code; idle threads blocked in native code are not sampled
+        CPU(Map.of(
+                "jdk.ExecutionSample#enabled", "true",
+                "jdk.ExecutionSample#period", "10 ms")),
+        ALLOCATION(Map.of(
+                "jdk.ObjectAllocationSample#enabled", "true",
+                "jdk.ObjectAllocationSample#throttle", "300/s",
+                "jdk.ObjectAllocationSample#stackTrace", "true")),
+        LOCKS(Map.of(
+                "jdk.JavaMonitorEnter#enabled", "true",
+                "jdk.JavaMonitorEnter#threshold", "10 ms",
+                "jdk.JavaMonitorEnter#stackTrace", "true",
+                "jdk.ThreadPark#enabled", "true",
+                "jdk.ThreadPark#threshold", "10 ms",
+                "jdk.ThreadPark#stackTrace", "true")),
+        // JDBC traffic to PostgreSQL is socket I/O
+        IO(Map.of(
+                "jdk.SocketRead#enabled", "true",
+                "jdk.SocketRead#threshold", "1 ms",
+                "jdk.SocketRead#stackTrace", "true",
+                "jdk.SocketWrite#enabled", "true",
+                "jdk.SocketWrite#threshold", "1 ms",
+                "jdk.SocketWrite#stackTrace", "true"));
+
+        private final Map<String, String> settings;
+
+        Profile(Map<String, String> settings) {
+            this.settings = settings;
+        }
+    }
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+\\.jfr");
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String APPLICATION_PACKAGE = "com.example.";
+
+    @Value("${profiling.directory}")
+    private Path directory;
+
+    @Value("${profiling.default-duration-seconds}")
+    private int defaultDurationSeconds;
+
+    @Value("${profiling.max-duration-seconds}")
+    private int maxDurationSeconds;
+
+    @Value("${profiling.max-size-mb}")
+    private long maxSizeMb;
+
+    @Value("${profiling.max-files}")
+    private int maxFiles;
+
+    private final Semaphore summaries = new Semaphore(1);
+
+    private Active active;
+
+    private record Active(Recording recording, String name, List<String> profiles, Instant startedAt,
+            int durationSeconds) {
+
+        boolean running() {
+            RecordingState state = recording.getState();
+            return state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (active != null && active.running()) {
+            // Keep what was captured so far
+            active.recording().stop();
+            active.recording().close();
+        }
+    }
+
+    public synchronized RecordingDTO start(StartRecordingRequest request) {
+        Set<Profile> profiles = parseProfiles(request.getProfiles());
+        if (active != null && active.running()) {
+            long remaining = Duration.between(Instant.now(),
+                    active.startedAt().plusSeconds(active.durationSeconds())).toSeconds();
+            throw new ServiceUnavailableException(
+                    "Recording '" + active.name() + "' is still running", Math.max(1, remaining));
+        }
+        if (active != null) {
+            // Stopped by its duration; its file is already written
+            active.recording().close();
+        }
+
+        int durationSeconds = Math.min(maxDurationSeconds,
+                request.getDurationSeconds() != null ? request.getDurationSeconds() : defaultDurationSeconds);
+        List<String> profileNames = profiles.stream().map(profile -> profile.name().toLowerCase(Locale.ROOT)).toList();
+        Instant startedAt = Instant.now();
+        String name = "estore-" + FILE_TIMESTAMP.format(startedAt) + "-" + String.join("-", profileNames) + ".jfr";
+
+        // Room for the new file within max-files
+        deleteOldest(maxFiles - 1);
+
+        Map<String, String> settings = new HashMap<>(defaultSettings());
+        profiles.forEach(profile -> settings.putAll(profile.settings));
+        Recording recording = new Recording(settings);
+        try {
+            recording.setName(name);
+            recording.setToDisk(true);
+            recording.setMaxSize(maxSizeMb * 1024 * 1024);
+            recording.setDuration(Duration.ofSeconds(durationSeconds));
+            // Written here when the recording stops, by itself or through stop()
+            recording.setDestination(directory.resolve(name));
+            recording.start();
+        } catch (IOException | RuntimeException e) {
+            recording.close();
+            throw new IllegalStateException("Could not start recording: " + e.getMessage(), e);
+        }
+        active = new Active(recording, name, profileNames, startedAt, durationSeconds);
+        return toDTO(active);
+    }
+
+    /**
+     * Stop the running recording early; what it captured is kept.
+     */
+    public synchronized RecordingDTO stop() {
+        if (active == null || !active.running()) {
+            throw new ResourceNotFoundException("No recording is running");
+        }
+        Active stopped = active;
+        stopped.recording().stop();
+        stopped.recording().close();
+        return toDTO(stopped);
+    }
+
+    /**
+     * The running recording, if any, followed by the finished ones, newest first.
+     */
+    public synchronized List<RecordingDTO> list() {
+        List<RecordingDTO> recordings = new ArrayList<>();
+        if (active != null && active.running()) {
+            recordings.add(toDTO(active));
+        }
+        for (Path file : files()) {
+            recordings.add(new RecordingDTO(file.getFileName().toString(), null, false,
+                    lastModified(file), null, size(file)));
+        }
+        return recordings;
+    }
+
+    /**
+     * A finished recording, for download.
+     */
+    public Path file(String name) {
+        if (!FILE_NAME.matcher(name).matches()) {
+            throw new InvalidOperationException("Invalid recording name: '" + name + "'");
+        }
+        Path file = directory.resolve(name);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Recording not found: '" + name + "'");
+        }
+        return file;
+    }
+
+    /**
+     * Hottest frames, allocation sites, contended locks and socket I/O of a finished recording.
+     */
+    public ProfilingSummaryDTO summarize(String name, int top) {
+        Path file = file(name);
+        if (!summaries.tryAcquire()) {
+            throw new ServiceUnavailableException("Another summary is being computed", 1);
+        }
+        try (RecordingFile recording = new RecordingFile(file)) {
+            Map<String, long[]> frames = new HashMap<>();
+            Map<String, long[]> applicationFrames = new HashMap<>();
+            Map<String, long[]> allocations = new HashMap<>();
+            Map<String, long[]> locks = new HashMap<>();
+            Map<String, long[]> sockets = new HashMap<>();
+            long events = 0;
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                events++;
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        add(frames, topFrame(event.getStackTrace()), 1);
+                        String applicationFrame = applicationFrame(event.getStackTrace());
+                        if (applicationFrame != null) {
+                            add(applicationFrames, applicationFrame, 1);
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" -> add(allocations,
+                            event.getClass("objectClass").getName() + " at " + topFrame(event.getStackTrace()),
+                            event.getLong("weight"));
+                    case "jdk.JavaMonitorEnter" -> add(locks,
+                            "monitor " + event.getClass("monitorClass").getName()
+                                    + " at " + topFrame(event.getStackTrace()),
+                            event.getDuration().toNanos());
+                    case "jdk.ThreadPark" -> add(locks,
+                            "park " + (event.getClass("parkedClass") != null
+                                    ? event.getClass("parkedClass").getName() : "(unknown)")
+                                    + " at " + applicationOrTopFrame(event.getStackTrace()),
+                            event.getDuration().toNanos());
+                    case "jdk.SocketRead", "jdk.SocketWrite" -> add(sockets,
+                            (event.getEventType().getName().endsWith("Read") ? "read " : "write ")
+                                    + event.getString("host") + ":" + event.getInt("port")
+                                    + " at " + applicationOrTopFrame(event.getStackTrace()),
+                            event.getDuration().toNanos());
+                    default -> {
+                    }
+                }
+            }
+            return new ProfilingSummaryDTO(
+                    name,
+                    events,
+                    top(frames, top, 1),
+                    top(applicationFrames, top, 1),
+                    top(allocations, top, 1),
+                    top(locks, top, 1e6),
+                    top(sockets, top, 1e6));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read recording '" + name + "'", e);
+        } finally {
+            summaries.release();
+        }
+    }
+
+    private static Set<Profile> parseProfiles(List<String> names) {
+        Set<Profile> profiles = EnumSet.noneOf(Profile.class);
+        if (names != null) {
+            for (String name : names) {
+                try {
+                    profiles.add(Profile.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidOperationException(
+                            "Unknown profile '" + name + "'; use cpu, allocation, locks or io");
+                }
+            }
+        }
+        if (profiles.isEmpty()) {
+            profiles.add(Profile.CPU);
+        }
+        return profiles;
+    }
+
+    private static Map<String, String> defaultSettings() {
+        try {
+            return Configuration.getConfiguration("default").getSettings();
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR default configuration is unavailable", e);
+        }
+    }
+
+    private RecordingDTO toDTO(Active recording) {
+        Path file = directory.resolve(recording.name());
+        return new RecordingDTO(recording.name(), recording.profiles(), recording.running(),
+                recording.startedAt(), recording.durationSeconds(), Files.exists(file) ? size(file) : 0);
+    }
+
+    // Finished recordings, newest first
+    private List<Path> files() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(ProfilingService::lastModified).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteOldest(int keep) {
+        List<Path> files = files();
+        for (Path file : files.subList(Math.min(Math.max(keep, 0), files.size()), files.size())) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void add(Map<String, long[]> totals, String key, long value) {
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0]++;
+        total[1] += value;
+    }
+
+    private static List<ProfileEntryDTO> top(Map<String, long[]> totals, int limit, double divisor) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                .limit(limit)
+                .map(entry -> new ProfileEntryDTO(entry.getKey(), entry.getValue()[0], entry.getValue()[1] / divisor))
+                .toList();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "(no stack trace)";
+        }
+        return format(stackTrace.getFrames().get(0));
+    }
+
+    // Innermost frame in our own code, or null
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return null;
+    }
+
+    private static String applicationOrTopFrame(RecordedStackTrace stackTrace) {
+        String frame = applicationFrame(stackTrace);
+        return frame != null ? frame : topFrame(stackTrace);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
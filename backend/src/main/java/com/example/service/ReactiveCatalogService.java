@@ -0,0 +1,73 @@
+package com.example.service;
+
+import com.example.dto.BrandDTO;
+import com.example.dto.CategoryDTO;
+import com.example.dto.ProductDTO;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repository.ReactiveCatalogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The read side of ProductService over R2DBC: same results, same errors, but
+ * nothing blocks while the database works. Products are not cached in the
+ * second-level cache here, so every call is a query.
+ */
+@Service
+public class ReactiveCatalogService {
+
+    @Autowired
+    private ReactiveCatalogRepository reactiveCatalogRepository;
+
+    public Mono<ProductDTO> getProductById(Long id) {
+        return reactiveCatalogRepository.findProductById(id)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                "Product not found with id: '" + id + "'")));
+    }
+
+    public Flux<ProductDTO> getAllProducts(boolean availableOnly) {
+        return reactiveCatalogRepository.findProducts(availableOnly);
+    }
+
+    public Flux<ProductDTO> getProductsByBrand(Long brandId) {
+        return reactiveCatalogRepository.brandExists(brandId)
+            .flatMapMany(exists -> exists
+                ? reactiveCatalogRepository.findProductsByBrandId(brandId)
+                : Flux.error(new ResourceNotFoundException(
+                    "Brand not found with id: '" + brandId + "'")));
+    }
+
+    public Flux<ProductDTO> getProductsByCategory(Long categoryId) {
+        return reactiveCatalogRepository.categoryExists(categoryId)
+            .flatMapMany(exists -> exists
+                ? reactiveCatalogRepository.findProductsByCategoryId(categoryId)
+                : Flux.error(new ResourceNotFoundException(
+                    "Category not found with id: '" + categoryId + "'")));
+    }
+
+    public Flux<ProductDTO> searchProducts(String name) {
+        return reactiveCatalogRepository.findProductsByNameContaining(name);
+    }
+
+    public Flux<ProductDTO> filterProducts(Long brandId, Long categoryId) {
+        if (brandId != null && categoryId != null) {
+            return reactiveCatalogRepository.findProductsByBrandIdAndCategoryId(brandId, categoryId);
+        } else if (brandId != null) {
+            return getProductsByBrand(brandId);
+        } else if (categoryId != null) {
+            return getProductsByCategory(categoryId);
+        } else {
+            return getAllProducts(false);
+        }
+    }
+
+    public Flux<BrandDTO> getAllBrands() {
+        return reactiveCatalogRepository.findBrands();
+    }
+
+    public Flux<CategoryDTO> getAllCategories() {
+        return reactiveCatalogRepository.findCategories();
+    }
+}
@@ -6,6 +6,8 @@ import com.example.exception.DuplicateResourceException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.model.Role;
 import com.example.repository.RoleRepository;
+import com.example.repository.UserRepository;
+import com.example.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,12 @@ public class RoleService {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
     public RoleDTO createRole(CreateRoleRequest request) {
         // Check for duplicate role name
         if (roleRepository.existsByName(request.getName())) {
@@ -32,6 +40,7 @@ public class RoleService {
         return convertToDTO(savedRole);
     }
     
+    @Transactional(readOnly = true)
     public RoleDTO getRoleById(Long id) {
         Role role = roleRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -39,6 +48,7 @@ public class RoleService {
         return convertToDTO(role);
     }
     
+    @Transactional(readOnly = true)
     public RoleDTO getRoleByName(String name) {
         Role role = roleRepository.findByName(name)
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -46,6 +56,7 @@ public class RoleService {
         return convertToDTO(role);
     }
     
+    @Transactional(readOnly = true)
     public List<RoleDTO> getAllRoles() {
         return roleRepository.findAll().stream()
             .map(this::convertToDTO)
@@ -58,8 +69,8 @@ public class RoleService {
                 "Role not found with id: '" + id + "'"));
         
         // Check if name is being changed and if it's already taken
-        if (!role.getName().equals(request.getName()) && 
-            roleRepository.existsByName(request.getName())) {
+        boolean renamed = !role.getName().equals(request.getName());
+        if (renamed && roleRepository.existsByName(request.getName())) {
             throw new DuplicateResourceException(
                 "Role name already in use: '" + request.getName() + "'");
         }
@@ -68,6 +79,12 @@ public class RoleService {
         role.setDescription(request.getDescription());
         
         Role updatedRole = roleRepository.save(role);
+        // Authorities are derived from role names, and tokens carry the name
+        // in their role claim: tokens issued under the old name must not pass
+        if (renamed) {
+            userRepository.incrementTokenVersionsByRoleId(id);
+        }
+        TransactionCallbacks.afterCommit(userDetailsCache::invalidateAll);
         return convertToDTO(updatedRole);
     }
     
@@ -77,6 +94,7 @@ public class RoleService {
                 "Role not found with id: '" + id + "'");
         }
         roleRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(userDetailsCache::invalidateAll);
     }
     
     private RoleDTO convertToDTO(Role role) {
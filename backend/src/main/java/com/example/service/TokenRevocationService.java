@@ -0,0 +1,255 @@
+package com.example.service;
+
+import com.example.config.ReplicaRoutingDataSource;
+import com.example.model.TokenRevocation;
+import com.example.repository.TokenRevocationRepository;
+import com.example.security.BloomFilter;
+import com.example.security.JwtClaims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JWT revocation backed by the token_revocations denylist.
+ *
+ * A Bloom filter of every active denylist key sits in front of the table, so
+ * almost every request is cleared in memory. Only keys the filter reports as
+ * possibly present are looked up, and the outcome of those lookups is
+ * remembered. The filter is rebuilt from the table on startup (optional),
+ * every {@code token-revocation.refresh-interval}, and whenever more keys were
+ * added than it was sized for.
+ *
+ * Revocations made through this instance apply here as soon as they commit.
+ * Revocations made by another instance only reach this one with the next
+ * refresh, so they can be missed for up to one refresh interval.
+ */
+@Service
+public class TokenRevocationService {
+    
+    // Lookup outcome meaning "no denylist entry": nothing is issued before Instant.MIN
+    private static final Instant NOT_REVOKED = Instant.MIN;
+    // Lookup outcome for a single revoked token: every issue time is before Instant.MAX
+    private static final Instant TOKEN_REVOKED = Instant.MAX;
+    
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+    
+    @Autowired
+    private TaskScheduler taskScheduler;
+    
+    @Value("${token-revocation.bloom.expected-insertions}")
+    private long expectedInsertions;
+    
+    @Value("${token-revocation.bloom.false-positive-rate}")
+    private double falsePositiveRate;
+    
+    @Value("${token-revocation.rebuild-on-start}")
+    private boolean rebuildOnStart;
+    
+    @Value("${token-revocation.lookup-cache-size}")
+    private int lookupCacheSize;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+    
+    private volatile BloomFilter filter;
+    private final AtomicLong insertions = new AtomicLong();
+    
+    // Denylist key -> tokens issued before this instant are revoked
+    private final ConcurrentHashMap<String, Instant> lookups = new ConcurrentHashMap<>();
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+    
+    // Not synchronized: a virtual thread blocking on JDBC inside a monitor pins its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    
+    // Guards the filter swap against concurrent registrations. Keys registered
+    // while a rebuild is reading the table are collected here, since the
+    // rebuild may not have seen their rows.
+    private final ReentrantLock registrationLock = new ReentrantLock();
+    private List<String> registeredDuringRebuild;
+    
+    @PostConstruct
+    void init() {
+        if (rebuildOnStart) {
+            rebuild();
+        } else {
+            filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        }
+    }
+    
+    /**
+     * Rebuild the filter from the active denylist rows, dropping expired ones.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            registrationLock.lock();
+            try {
+                registeredDuringRebuild = new ArrayList<>();
+            } finally {
+                registrationLock.unlock();
+            }
+            
+            Instant now = Instant.now();
+            tokenRevocationRepository.deleteExpired(now);
+            List<String> keys = tokenRevocationRepository.findActiveKeys(now);
+            
+            BloomFilter rebuilt = BloomFilter.create(
+                Math.max(expectedInsertions, 2L * keys.size()), falsePositiveRate);
+            for (String key : keys) {
+                rebuilt.put(key);
+            }
+            
+            registrationLock.lock();
+            try {
+                for (String key : registeredDuringRebuild) {
+                    rebuilt.put(key);
+                }
+                filter = rebuilt;
+                insertions.set(keys.size() + registeredDuringRebuild.size());
+                registeredDuringRebuild = null;
+                // Also forgets "not revoked" results that another instance may have overtaken
+                lookups.clear();
+            } finally {
+                registrationLock.unlock();
+            }
+        } finally {
+            rebuildScheduled.set(false);
+            rebuildLock.unlock();
+        }
+    }
+    
+    /**
+     * Picks up revocations written by other instances.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.refresh-interval}",
+               initialDelayString = "${token-revocation.refresh-interval}")
+    public void refresh() {
+        rebuild();
+    }
+    
+    public boolean isRevoked(JwtClaims claims) {
+        BloomFilter current = filter;
+        if (claims.tokenId() != null) {
+            String key = tokenKey(claims.tokenId());
+            if (current.mightContain(key) && isRevoked(key, claims.issuedAt())) {
+                return true;
+            }
+        }
+        if (claims.userId() != null) {
+            String key = userKey(claims.userId());
+            if (current.mightContain(key) && isRevoked(key, claims.issuedAt())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Revoke a single token (logout).
+     */
+    @Transactional
+    public void revokeToken(JwtClaims claims) {
+        if (claims.tokenId() == null) {
+            // Issued before tokens carried an id; it expires within jwt.expiration
+            return;
+        }
+        String key = tokenKey(claims.tokenId());
+        tokenRevocationRepository.save(new TokenRevocation(key, null, claims.expiresAt()));
+        TransactionCallbacks.afterCommit(() -> register(key, TOKEN_REVOKED));
+    }
+    
+    /**
+     * Revoke every token issued to a user up to now (password change, deletion).
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        String key = userKey(userId);
+        // JWT issue times have second precision; tokens issued later in this
+        // second stay valid so a login right after the change still works
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant expiresAt = revokedBefore.plusMillis(jwtExpiration).plusSeconds(1);
+        tokenRevocationRepository.save(new TokenRevocation(key, revokedBefore, expiresAt));
+        TransactionCallbacks.afterCommit(() -> register(key, revokedBefore));
+    }
+    
+    private boolean isRevoked(String key, Instant issuedAt) {
+        if (lookups.size() >= lookupCacheSize) {
+            lookups.clear();
+        }
+        Instant revokedBefore = lookups.get(key);
+        if (revokedBefore != null) {
+            lookupHits.increment();
+        } else {
+            lookupMisses.increment();
+            // Results are memoised, so never read them from a lagging replica.
+            // Queried outside computeIfAbsent, whose bin lock would pin a
+            // virtual thread for the whole round trip; a concurrent revocation
+            // wins over this result.
+            Instant loaded = ReplicaRoutingDataSource.onPrimary(
+                () -> tokenRevocationRepository.findById(key)
+                    .map(revocation -> revocation.getRevokedBefore() != null
+                        ? revocation.getRevokedBefore()
+                        : TOKEN_REVOKED)
+                    .orElse(NOT_REVOKED));
+            Instant existing = lookups.putIfAbsent(key, loaded);
+            revokedBefore = existing != null ? existing : loaded;
+        }
+        return issuedAt.isBefore(revokedBefore);
+    }
+    
+    public long lookupHits() {
+        return lookupHits.sum();
+    }
+    
+    public long lookupMisses() {
+        return lookupMisses.sum();
+    }
+    
+    public int lookupCacheSize() {
+        return lookups.size();
+    }
+    
+    private void register(String key, Instant revokedBefore) {
+        registrationLock.lock();
+        try {
+            filter.put(key);
+            lookups.put(key, revokedBefore);
+            if (registeredDuringRebuild != null) {
+                registeredDuringRebuild.add(key);
+            }
+        } finally {
+            registrationLock.unlock();
+        }
+        if (insertions.incrementAndGet() > filter.getExpectedInsertions()
+                && rebuildScheduled.compareAndSet(false, true)) {
+            // Not inline: this runs in an afterCommit callback, where the
+            // transactional deleteExpired would join the finished transaction
+            taskScheduler.schedule(this::rebuild, Instant.now());
+        }
+    }
+    
+    private static String tokenKey(String tokenId) {
+        return "t:" + tokenId;
+    }
+    
+    private static String userKey(Long userId) {
+        return "u:" + userId;
+    }
+}
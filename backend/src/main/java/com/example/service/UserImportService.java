@@ -0,0 +1,180 @@
+package com.example.service;
+
+import com.example.dto.AddressDTO;
+import com.example.dto.CreateUserRequest;
+import com.example.dto.UserImportReportDTO;
+import com.example.dto.UserImportRowResultDTO;
+import com.example.dto.UserImportRowResultDTO.Status;
+import com.example.exception.DuplicateResourceException;
+import com.example.model.Address;
+import com.example.model.Role;
+import com.example.model.User;
+import com.example.repository.RoleRepository;
+import com.example.repository.UserRepository;
+import com.example.security.BulkPasswordHasher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user provisioning.
+ *
+ * Rows are validated individually, uniqueness is checked for the whole batch
+ * with one IN query per key, passwords are hashed in parallel by
+ * BulkPasswordHasher, and the accepted addresses and users are saved in a
+ * single transaction as batched inserts. Hashing happens before the
+ * transaction starts so no connection is held while BCrypt runs.
+ */
+@Service
+public class UserImportService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private BulkPasswordHasher bulkPasswordHasher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public UserImportReportDTO importUsers(List<CreateUserRequest> requests) {
+        int total = requests.size();
+        UserImportRowResultDTO[] results = new UserImportRowResultDTO[total];
+
+        // Per-row bean validation
+        for (int i = 0; i < total; i++) {
+            CreateUserRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = new UserImportRowResultDTO(i, Status.INVALID, null, "Row is empty");
+                continue;
+            }
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = new UserImportRowResultDTO(i, Status.INVALID, null, message);
+            }
+        }
+
+        // One query per unique key, plus one for the referenced roles
+        Set<String> emails = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        Set<Long> roleIds = new HashSet<>();
+        for (int i = 0; i < total; i++) {
+            if (results[i] == null) {
+                emails.add(requests.get(i).getEmail());
+                usernames.add(requests.get(i).getUsername());
+                roleIds.add(requests.get(i).getRoleId());
+            }
+        }
+        Set<String> existingEmails = emails.isEmpty()
+                ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emails));
+        Set<String> existingUsernames = usernames.isEmpty()
+                ? Set.of() : new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Map<Long, Role> roles = new HashMap<>();
+        roleRepository.findAllById(roleIds).forEach(role -> roles.put(role.getId(), role));
+
+        // Duplicates against the database and within the import itself
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenUsernames = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreateUserRequest request = requests.get(i);
+            String message = null;
+            Status status = Status.DUPLICATE;
+            if (existingEmails.contains(request.getEmail())) {
+                message = "User already exists with email: '" + request.getEmail() + "'";
+            } else if (existingUsernames.contains(request.getUsername())) {
+                message = "User already exists with username: '" + request.getUsername() + "'";
+            } else if (seenEmails.contains(request.getEmail())) {
+                message = "Email appears earlier in this import: '" + request.getEmail() + "'";
+            } else if (seenUsernames.contains(request.getUsername())) {
+                message = "Username appears earlier in this import: '" + request.getUsername() + "'";
+            } else if (!roles.containsKey(request.getRoleId())) {
+                status = Status.INVALID;
+                message = "Role not found with id: '" + request.getRoleId() + "'";
+            }
+            if (message != null) {
+                results[i] = new UserImportRowResultDTO(i, status, null, message);
+                continue;
+            }
+            seenEmails.add(request.getEmail());
+            seenUsernames.add(request.getUsername());
+            accepted.add(i);
+        }
+
+        if (!accepted.isEmpty()) {
+            List<String> hashes = bulkPasswordHasher.encodeAll(
+                    accepted.stream().map(i -> requests.get(i).getPassword()).toList());
+
+            long[] userIds;
+            try {
+                userIds = transactionTemplate.execute(status -> insertAll(requests, accepted, hashes, roles));
+            } catch (DataIntegrityViolationException e) {
+                // A conflicting user was created between the checks and the insert
+                throw new DuplicateResourceException(
+                        "Import conflicts with users created concurrently; please retry");
+            }
+            for (int k = 0; k < accepted.size(); k++) {
+                int row = accepted.get(k);
+                results[row] = new UserImportRowResultDTO(row, Status.CREATED, userIds[k], null);
+            }
+        }
+
+        return new UserImportReportDTO(total, accepted.size(), total - accepted.size(), Arrays.asList(results));
+    }
+
+    private long[] insertAll(List<CreateUserRequest> requests, List<Integer> accepted,
+            List<String> hashes, Map<Long, Role> roles) {
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            CreateUserRequest request = requests.get(accepted.get(k));
+            Address address = null;
+            if (request.getAddress() != null) {
+                AddressDTO addressDTO = request.getAddress();
+                address = new Address(
+                        addressDTO.getZip(),
+                        addressDTO.getCountry(),
+                        addressDTO.getStreet(),
+                        addressDTO.getProvince());
+            }
+            users.add(new User(
+                    request.getUsername(),
+                    request.getEmail(),
+                    hashes.get(k),
+                    roles.get(request.getRoleId()),
+                    request.getPhoneNumber(),
+                    address));
+        }
+
+        // Addresses are persisted by cascade; ids come from pooled sequences,
+        // so addresses and users each flush as one JDBC batch
+        userRepository.saveAll(users);
+        userRepository.flush();
+
+        return users.stream().mapToLong(User::getId).toArray();
+    }
+}
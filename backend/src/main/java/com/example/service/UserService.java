@@ -5,6 +5,8 @@ import com.example.dto.CreateUserRequest;
 import com.example.dto.UpdateUserRequest;
 import com.example.dto.RoleDTO;
 import com.example.dto.UserDTO;
+import com.example.dto.UserPageDTO;
+import com.example.dto.UserSummaryDTO;
 import com.example.exception.DuplicateResourceException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.model.Address;
@@ -13,18 +15,24 @@ import com.example.model.User;
 import com.example.repository.AddressRepository;
 import com.example.repository.RoleRepository;
 import com.example.repository.UserRepository;
+import com.example.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class UserService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -37,6 +45,15 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private BasketSummaryCache basketSummaryCache;
+
     public UserDTO createUser(CreateUserRequest request) {
         // Check for duplicate email
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -80,6 +97,7 @@ public class UserService {
         return convertToDTO(savedUser);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -87,6 +105,7 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -94,12 +113,46 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated user directory. Rows are projected straight into
+     * UserSummaryDTO; q is a case-insensitive prefix matched against
+     * username and email.
+     */
+    @Transactional(readOnly = true)
+    public UserPageDTO getUserDirectory(String q, Long roleId, Long cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = cursor == null ? 0L : Math.max(0L, cursor);
+        // One extra row tells us whether there is a next page
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<UserSummaryDTO> rows;
+        if (q == null || q.isBlank()) {
+            rows = roleId == null
+                    ? userRepository.findDirectoryPage(afterId, fetch)
+                    : userRepository.findDirectoryPageByRole(afterId, roleId, fetch);
+        } else {
+            String prefix = escapeLike(q.trim().toLowerCase(Locale.ROOT)) + "%";
+            rows = roleId == null
+                    ? userRepository.searchDirectoryPage(afterId, prefix, fetch)
+                    : userRepository.searchDirectoryPageByRole(afterId, roleId, prefix, fetch);
+        }
+
+        Long nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = rows.get(pageSize - 1).getId();
+        }
+        return new UserPageDTO(rows, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersByRole(Long roleId) {
         Role role = roleRepository.findById(roleId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -128,6 +181,9 @@ public class UserService {
                     "Username already in use: '" + request.getUsername() + "'");
         }
 
+        String previousEmail = user.getEmail();
+        boolean credentialsChanged = !previousEmail.equals(request.getEmail());
+
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         user.setPhoneNumber(request.getPhoneNumber());
@@ -135,14 +191,28 @@ public class UserService {
         // Update password only if provided (not null and not empty)
         if (request.getPassword() != null && !request.getPassword().trim().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            tokenRevocationService.revokeAllForUser(id);
+            credentialsChanged = true;
         }
 
         // Update role
         Role role = roleRepository.findById(request.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Role not found with id: '" + request.getRoleId() + "'"));
+        if (!role.getId().equals(user.getRole().getId())) {
+            credentialsChanged = true;
+        }
         user.setRole(role);
 
+        // Invalidate tokens issued before this change
+        if (credentialsChanged) {
+            user.incrementTokenVersion();
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            userDetailsCache.invalidate(previousEmail);
+            userDetailsCache.invalidate(request.getEmail());
+        });
+
         // Update address if provided
         if (request.getAddress() != null) {
             AddressDTO addressDTO = request.getAddress();
@@ -168,11 +238,17 @@ public class UserService {
     }
 
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException(
-                    "User not found with id: '" + id + "'");
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "User not found with id: '" + id + "'"));
+        userRepository.delete(user);
+        tokenRevocationService.revokeAllForUser(id);
+        TransactionCallbacks.afterCommit(() -> userDetailsCache.invalidate(user.getEmail()));
+        basketSummaryCache.userDeleted(id);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     public UserDTO convertToDTO(User user) {
@@ -0,0 +1,144 @@
+package com.example.timing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the time of the request on this thread went, in nanoseconds.
+ *
+ * RequestTimingFilter opens one per request; the instrumented code reports
+ * into it through the static methods, which do nothing when no request is
+ * being timed. Phases follow the request: filters (of which JWT
+ * verification and the user lookup are reported separately), the handler
+ * (controller, service and DTO mapping) and JSON writing. SQL runs inside
+ * those phases and is reported on its own as well.
+ */
+public final class RequestTiming {
+
+    /** Distinct statements kept per request; later ones still count towards sql */
+    private static final int MAX_FINGERPRINTS = 256;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private long handlerStartedAt;
+    private long serializationStartedAt;
+    private long endedAt;
+
+    private long jwtNanos;
+    private long userNanos;
+    private int sqlCount;
+    private long sqlNanos;
+
+    // Fingerprint -> {executions, total nanos, max nanos}
+    private final Map<String, long[]> statements = new HashMap<>();
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    void end() {
+        endedAt = System.nanoTime();
+        CURRENT.remove();
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Record a JWT verification that started at the given System.nanoTime().
+     */
+    public static void jwtVerified(long startedAt) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.jwtNanos += System.nanoTime() - startedAt;
+        }
+    }
+
+    /**
+     * Record a UserDetailsService lookup that started at the given System.nanoTime().
+     */
+    public static void userLoaded(long startedAt) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.userNanos += System.nanoTime() - startedAt;
+        }
+    }
+
+    static void handlerStarted() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.handlerStartedAt == 0) {
+            timing.handlerStartedAt = System.nanoTime();
+        }
+    }
+
+    static void serializationStarted() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.serializationStartedAt == 0) {
+            timing.serializationStartedAt = System.nanoTime();
+        }
+    }
+
+    void statementExecuted(String fingerprint, long nanos) {
+        sqlCount++;
+        sqlNanos += nanos;
+        long[] stats = statements.get(fingerprint);
+        if (stats == null) {
+            if (statements.size() >= MAX_FINGERPRINTS) {
+                return;
+            }
+            stats = new long[3];
+            statements.put(fingerprint, stats);
+        }
+        stats[0]++;
+        stats[1] += nanos;
+        stats[2] = Math.max(stats[2], nanos);
+    }
+
+    long totalNanos() {
+        return endedAt - startedAt;
+    }
+
+    /** Everything before the controller was invoked; the whole request if it never was */
+    long filterNanos() {
+        return (handlerStartedAt != 0 ? handlerStartedAt : endedAt) - startedAt;
+    }
+
+    long handlerNanos() {
+        if (handlerStartedAt == 0) {
+            return 0;
+        }
+        return (serializationStartedAt != 0 ? serializationStartedAt : endedAt) - handlerStartedAt;
+    }
+
+    long serializationNanos() {
+        return serializationStartedAt != 0 ? endedAt - serializationStartedAt : 0;
+    }
+
+    long jwtNanos() {
+        return jwtNanos;
+    }
+
+    long userNanos() {
+        return userNanos;
+    }
+
+    int sqlCount() {
+        return sqlCount;
+    }
+
+    long sqlNanos() {
+        return sqlNanos;
+    }
+
+    Map<String, long[]> statements() {
+        return Collections.unmodifiableMap(statements);
+    }
+}
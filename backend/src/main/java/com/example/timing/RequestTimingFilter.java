@@ -0,0 +1,127 @@
+package com.example.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Outermost filter: times every request into a RequestTiming and feeds its
+ * SQL to the SlowSqlTracker. A sample of {@code request-timing.sample-rate}
+ * requests also gets a Server-Timing response header and a key=value log
+ * line with the phase breakdown.
+ *
+ * The header has to be set before the body is sent, so sampled responses
+ * are buffered; unsampled ones are passed through untouched. Reactive
+ * (/api/reactive) responses are written asynchronously and never buffered:
+ * they only get the log line, which ends when the handler returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger timingLogger = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    private static final String ASYNC_PATH_PREFIX = "/api/reactive/";
+
+    private final SlowSqlTracker slowSqlTracker;
+
+    @Value("${request-timing.enabled}")
+    private boolean enabled;
+
+    @Value("${request-timing.sample-rate}")
+    private double sampleRate;
+
+    @Value("${request-timing.server-timing-header}")
+    private boolean serverTimingHeader;
+
+    public RequestTimingFilter(SlowSqlTracker slowSqlTracker) {
+        this.slowSqlTracker = slowSqlTracker;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        // Reactive endpoints write their body after this filter returns (and may stream it)
+        ContentCachingResponseWrapper buffered = sampled && serverTimingHeader
+                && !request.getServletPath().startsWith(ASYNC_PATH_PREFIX)
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            timing.end();
+            String route = route(request);
+            slowSqlTracker.record(route, timing.statements());
+            if (buffered != null) {
+                if (!buffered.isCommitted()) {
+                    buffered.setHeader("Server-Timing", serverTiming(timing));
+                }
+                buffered.copyBodyToResponse();
+            }
+            if (sampled && timingLogger.isInfoEnabled()) {
+                timingLogger.info(logLine(route, response.getStatus(), timing));
+            }
+        }
+    }
+
+    /**
+     * Method and path template, e.g. "GET /api/products/{id}"; requests that
+     * never reached a handler (rejected by security, unknown paths) share one route.
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmatched)");
+    }
+
+    // Durations overlap: jwt and user are part of filter, sql runs inside the other phases
+    static String serverTiming(RequestTiming timing) {
+        return "filter;dur=" + millis(timing.filterNanos())
+                + ", jwt;dur=" + millis(timing.jwtNanos())
+                + ", user;dur=" + millis(timing.userNanos())
+                + ", handler;dur=" + millis(timing.handlerNanos())
+                + ", json;dur=" + millis(timing.serializationNanos())
+                + ", sql;dur=" + millis(timing.sqlNanos()) + ";desc=\"" + timing.sqlCount() + " statements\""
+                + ", total;dur=" + millis(timing.totalNanos());
+    }
+
+    static String logLine(String route, int status, RequestTiming timing) {
+        return "request_timing route=\"" + route + "\" status=" + status
+                + " total_ms=" + millis(timing.totalNanos())
+                + " filter_ms=" + millis(timing.filterNanos())
+                + " jwt_ms=" + millis(timing.jwtNanos())
+                + " user_ms=" + millis(timing.userNanos())
+                + " handler_ms=" + millis(timing.handlerNanos())
+                + " json_ms=" + millis(timing.serializationNanos())
+                + " sql_ms=" + millis(timing.sqlNanos())
+                + " sql_count=" + timing.sqlCount();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
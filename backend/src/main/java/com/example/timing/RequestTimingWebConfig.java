@@ -0,0 +1,56 @@
+package com.example.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the phase boundaries inside Spring MVC for RequestTiming: the
+ * handler starts when the interceptor's preHandle runs, and serialization
+ * starts when the response body advice sees the return value.
+ */
+@Configuration
+public class RequestTimingWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTiming.handlerStarted();
+                return true;
+            }
+        });
+    }
+
+    @RestControllerAdvice
+    static class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(
+                Object body,
+                MethodParameter returnType,
+                MediaType selectedContentType,
+                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                ServerHttpRequest request,
+                ServerHttpResponse response) {
+            RequestTiming.serializationStarted();
+            return body;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.timing;
+
+import com.example.dto.SlowSqlDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling per-route statistics of SQL fingerprints, for finding the
+ * statements that make an endpoint slow.
+ *
+ * Statistics are kept in two generations of {@code request-timing.slow-sql.window}
+ * each; a report covers the previous and the current one, so it always spans
+ * between one and two windows. Each route keeps at most
+ * {@code max-fingerprints-per-route} fingerprints; beyond that, new
+ * fingerprints are dropped until the next rotation.
+ */
+@Component
+public class SlowSqlTracker {
+
+    @Value("${request-timing.slow-sql.top-n}")
+    private int topN;
+
+    @Value("${request-timing.slow-sql.window}")
+    private long windowMillis;
+
+    @Value("${request-timing.slow-sql.max-fingerprints-per-route}")
+    private int maxFingerprintsPerRoute;
+
+    private volatile Generation current = new Generation(System.currentTimeMillis());
+    private volatile Generation previous = new Generation(0);
+
+    private static final class Stats {
+        final LongAdder executions = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+    }
+
+    private record Generation(long startedAt, ConcurrentHashMap<String, ConcurrentHashMap<String, Stats>> routes) {
+        Generation(long startedAt) {
+            this(startedAt, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Add the statements of one finished request.
+     *
+     * @param statements fingerprint -> {executions, total nanos, max nanos}
+     */
+    void record(String route, Map<String, long[]> statements) {
+        if (statements.isEmpty()) {
+            return;
+        }
+        Map<String, Stats> byFingerprint = currentGeneration().routes()
+                .computeIfAbsent(route, key -> new ConcurrentHashMap<>());
+        statements.forEach((fingerprint, values) -> {
+            Stats stats = byFingerprint.get(fingerprint);
+            if (stats == null) {
+                if (byFingerprint.size() >= maxFingerprintsPerRoute) {
+                    return;
+                }
+                stats = byFingerprint.computeIfAbsent(fingerprint, key -> new Stats());
+            }
+            stats.executions.add(values[0]);
+            stats.totalNanos.add(values[1]);
+            stats.maxNanos.accumulateAndGet(values[2], Math::max);
+        });
+    }
+
+    /**
+     * The slowest fingerprints of each route by their slowest execution, at most top-n per route.
+     */
+    public Map<String, List<SlowSqlDTO>> report() {
+        Generation latest = currentGeneration();
+        Map<String, Map<String, long[]>> merged = new HashMap<>();
+        for (Generation generation : List.of(previous, latest)) {
+            generation.routes().forEach((route, byFingerprint) -> byFingerprint.forEach((fingerprint, stats) -> {
+                long[] values = merged.computeIfAbsent(route, key -> new HashMap<>())
+                        .computeIfAbsent(fingerprint, key -> new long[3]);
+                values[0] += stats.executions.sum();
+                values[1] += stats.totalNanos.sum();
+                values[2] = Math.max(values[2], stats.maxNanos.get());
+            }));
+        }
+
+        Map<String, List<SlowSqlDTO>> report = new TreeMap<>();
+        merged.forEach((route, byFingerprint) -> report.put(route, byFingerprint.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[2]).reversed())
+                .limit(topN)
+                .map(entry -> {
+                    long[] values = entry.getValue();
+                    return new SlowSqlDTO(
+                            entry.getKey(),
+                            values[0],
+                            values[1] / 1e6,
+                            values[0] > 0 ? values[1] / 1e6 / values[0] : 0.0,
+                            values[2] / 1e6);
+                })
+                .toList()));
+        return report;
+    }
+
+    private Generation currentGeneration() {
+        Generation generation = current;
+        long now = System.currentTimeMillis();
+        if (now - generation.startedAt() < windowMillis) {
+            return generation;
+        }
+        synchronized (this) {
+            if (current == generation) {
+                // After a quiet spell the last generation is too old to report
+                previous = now - generation.startedAt() < 2 * windowMillis ? generation : new Generation(0);
+                current = new Generation(now);
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.timing;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalises SQL so that executions of the same statement group together:
+ * literals become ?, IN lists collapse to (?...) and whitespace is squeezed.
+ * Hibernate already binds parameters, so most statements only need the
+ * whitespace pass; results are memoised per SQL string.
+ */
+final class SqlFingerprint {
+
+    private static final int MAX_LENGTH = 1000;
+    private static final int CACHE_SIZE = 2000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        String fingerprint = cache.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalise(sql);
+            if (cache.size() >= CACHE_SIZE) {
+                // Ad hoc SQL with inlined values would otherwise grow this without bound
+                cache.clear();
+            }
+            cache.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    static String normalise(String sql) {
+        String normalised = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalised = NUMBER_LITERAL.matcher(normalised).replaceAll("?");
+        normalised = IN_LIST.matcher(normalised).replaceAll("(?...)");
+        normalised = WHITESPACE.matcher(normalised).replaceAll(" ").trim();
+        return normalised.length() > MAX_LENGTH ? normalised.substring(0, MAX_LENGTH) + "..." : normalised;
+    }
+}
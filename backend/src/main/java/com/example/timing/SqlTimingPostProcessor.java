@@ -0,0 +1,108 @@
+package com.example.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the application DataSource so that every statement executed while a
+ * request is being timed is counted, timed and fingerprinted into its
+ * RequestTiming. Outside timed requests (startup, schedulers) the wrappers
+ * only forward.
+ *
+ * Only the "dataSource" bean is wrapped: with a read replica configured it
+ * routes to the primary and replica pools, which would otherwise count each
+ * statement twice.
+ */
+@Component
+public class SqlTimingPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final boolean enabled;
+
+    public SqlTimingPostProcessor(@Value("${request-timing.enabled}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (p, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement statement && name.equals("prepareCall")) {
+                return wrap(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                return wrap(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return wrap(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * @param sql the prepared SQL, or null for a plain Statement that gets it per execute
+     */
+    private static <S extends Statement> S wrap(Class<S> type, S statement, String sql) {
+        return proxy(type, (p, method, args) -> {
+            RequestTiming timing = RequestTiming.current();
+            if (timing == null || !method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long started = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                timing.statementExecuted(
+                        executed != null ? SqlFingerprint.of(executed) : "(batch)",
+                        System.nanoTime() - started);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlTimingPostProcessor.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
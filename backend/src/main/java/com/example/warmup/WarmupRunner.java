@@ -0,0 +1,231 @@
+package com.example.warmup;
+
+import com.example.dto.LoginRequest;
+import com.example.dto.OrderDTO;
+import com.example.dto.ProductDTO;
+import com.example.model.Address;
+import com.example.model.Brand;
+import com.example.model.Category;
+import com.example.model.Order;
+import com.example.model.Product;
+import com.example.model.Role;
+import com.example.model.User;
+import com.example.repository.BrandRepository;
+import com.example.repository.CategoryRepository;
+import com.example.repository.RoleRepository;
+import com.example.security.AuthenticatedUser;
+import com.example.security.JwtService;
+import com.example.service.OrderService;
+import com.example.service.ProductService;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot read paths in-process after startup, so the JIT has compiled
+ * them and the second-level cache holds the reference data before real
+ * traffic arrives: catalog listing, search and lookup by id, entity to DTO
+ * mapping, JWT signing and verification, and Jackson serialization.
+ *
+ * It is the last ApplicationRunner, and Spring Boot only moves readiness to
+ * ACCEPTING_TRAFFIC (/actuator/health/readiness) once every runner has
+ * returned, so nothing is routed here until warmup has finished. Liveness is
+ * up throughout.
+ *
+ * Nothing is written. Catalog queries read the real database; mapping, JWT
+ * and JSON work on synthetic objects built here, and tokens are parsed
+ * without going through the verified-token cache.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final int SYNTHETIC_PRODUCTS = 100;
+    private static final int SYNTHETIC_ORDERS = 20;
+    private static final int SEARCH_TERMS = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${warmup.enabled}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations}")
+    private int iterations;
+
+    @Value("${warmup.max-duration}")
+    private long maxDurationMillis;
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        try {
+            List<Category> categories = preloadCaches();
+
+            List<Product> syntheticProducts = syntheticProducts();
+            List<Order> syntheticOrders = syntheticOrders();
+            String token = jwtService.generateToken(AuthenticatedUser.from(syntheticOrders.get(0).getUser()));
+            byte[] loginBody = jsonMapper.writeValueAsBytes(new LoginRequest("warmup@example.com", "password"));
+
+            List<String> searchTerms = new ArrayList<>();
+            List<Long> productIds = new ArrayList<>();
+
+            int completed = 0;
+            while (completed < iterations && System.nanoTime() < deadline) {
+                // Catalog reads, rotating through the categories
+                if (!categories.isEmpty()) {
+                    List<ProductDTO> listing = productService.getProductsByCategory(
+                            categories.get(completed % categories.size()).getId());
+                    collectSamples(listing, searchTerms, productIds);
+                    jsonMapper.writeValueAsBytes(listing);
+                }
+                if (!searchTerms.isEmpty()) {
+                    jsonMapper.writeValueAsBytes(
+                            productService.searchProducts(searchTerms.get(completed % searchTerms.size())));
+                }
+                if (!productIds.isEmpty()) {
+                    jsonMapper.writeValueAsBytes(
+                            productService.getProductById(productIds.get(completed % productIds.size())));
+                }
+
+                // Synthetic data: no database involved
+                List<ProductDTO> products = syntheticProducts.stream()
+                        .map(productService::convertToDTO)
+                        .toList();
+                List<OrderDTO> orders = syntheticOrders.stream()
+                        .map(orderService::convertToDTO)
+                        .toList();
+                jsonMapper.writeValueAsBytes(products);
+                jsonMapper.writeValueAsBytes(orders);
+                jsonMapper.readValue(loginBody, LoginRequest.class);
+
+                jwtService.extractClaim(token, Claims::getSubject);
+                if (completed % 10 == 0) {
+                    token = jwtService.generateToken(AuthenticatedUser.from(syntheticOrders.get(0).getUser()));
+                }
+                completed++;
+            }
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (completed < iterations) {
+                logger.warn("Warmup stopped at warmup.max-duration ({} ms) after {} of {} iterations",
+                        maxDurationMillis, completed, iterations);
+            } else {
+                logger.info("Warmup finished: {} iterations in {} ms", completed, elapsedMillis);
+            }
+        } catch (RuntimeException e) {
+            // A cold instance is better than none: report ready anyway
+            logger.warn("Warmup failed after {} ms, continuing without it",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), e);
+        }
+    }
+
+    /**
+     * Loads brands, categories and roles into the second-level cache, and the
+     * role lookups by name (registration, user import) into the query cache.
+     */
+    private List<Category> preloadCaches() {
+        List<Brand> brands = brandRepository.findAll();
+        List<Category> categories = categoryRepository.findAll();
+        for (Role role : roleRepository.findAll()) {
+            roleRepository.findByName(role.getName());
+        }
+        logger.info("Preloaded {} brands and {} categories", brands.size(), categories.size());
+        return categories;
+    }
+
+    // The first word of product names, e.g. "iPhone", as a search term
+    private static void collectSamples(List<ProductDTO> listing, List<String> searchTerms, List<Long> productIds) {
+        if (searchTerms.size() >= SEARCH_TERMS) {
+            return;
+        }
+        Set<String> terms = new LinkedHashSet<>(searchTerms);
+        for (ProductDTO product : listing) {
+            if (terms.size() >= SEARCH_TERMS) {
+                break;
+            }
+            String name = product.getName().trim();
+            int space = name.indexOf(' ');
+            if (terms.add((space > 0 ? name.substring(0, space) : name).toLowerCase())) {
+                productIds.add(product.getId());
+            }
+        }
+        searchTerms.clear();
+        searchTerms.addAll(terms);
+    }
+
+    // Detached entities shaped like the seeded catalog, never persisted
+    private static List<Product> syntheticProducts() {
+        List<Product> products = new ArrayList<>(SYNTHETIC_PRODUCTS);
+        for (int i = 1; i <= SYNTHETIC_PRODUCTS; i++) {
+            Brand brand = new Brand("Warmup Brand " + i % 10);
+            brand.setId((long) (i % 10));
+            Category category = new Category("Warmup Category " + i % 8);
+            category.setId((long) (i % 8));
+            Product product = new Product("Warmup Product " + i, i % 250, 5.0 + i % 95,
+                    "Synthetic product for JIT warmup", "https://example.com/images/" + i + ".jpg",
+                    brand, category);
+            product.setId((long) i);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static List<Order> syntheticOrders() {
+        Role role = new Role("ROLE_USER", "Regular user");
+        role.setId(1L);
+        Address address = new Address("M5V2T6", "Canada", "1 Warmup Street", "Ontario");
+        address.setId(1L);
+        User user = new User("warmup", "warmup@example.com", "{noop}password", role, "+1-416-555-0100", address);
+        user.setId(1L);
+
+        List<Order> orders = new ArrayList<>(SYNTHETIC_ORDERS);
+        for (int i = 1; i <= SYNTHETIC_ORDERS; i++) {
+            Order order = new Order(user, address, 20.0 + i);
+            order.setId((long) i);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,129 @@
+-- Baseline schema, matching the JPA entities in com.example.model
+-- (validated at startup with ddl-auto: validate).
+--
+-- Written to be idempotent so databases created earlier by ddl-auto: update
+-- can run it too (spring.flyway.baseline-version: 0): existing tables are
+-- left alone and only missing sequences, columns and indexes are added.
+
+-- Id sequences (pooled, allocationSize = 50)
+CREATE SEQUENCE IF NOT EXISTS addresses_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS baskets_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS brands_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+-- Tables
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT NOT NULL DEFAULT nextval('roles_seq'),
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS addresses (
+    id BIGINT NOT NULL DEFAULT nextval('addresses_seq'),
+    zip VARCHAR(255) NOT NULL,
+    country VARCHAR(255) NOT NULL,
+    street VARCHAR(255) NOT NULL,
+    province VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS brands (
+    id BIGINT NOT NULL DEFAULT nextval('brands_seq'),
+    name VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id BIGINT NOT NULL DEFAULT nextval('categories_seq'),
+    name VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL DEFAULT nextval('users_seq'),
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    phone_number VARCHAR(255),
+    address_id BIGINT UNIQUE REFERENCES addresses (id),
+    token_version BIGINT,
+    PRIMARY KEY (id)
+);
+-- Added after the first ddl-auto databases were created
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version BIGINT;
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT NOT NULL DEFAULT nextval('products_seq'),
+    name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    price FLOAT(53) NOT NULL,
+    description TEXT,
+    image VARCHAR(255),
+    brand_id BIGINT NOT NULL REFERENCES brands (id),
+    category_id BIGINT NOT NULL REFERENCES categories (id),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS baskets (
+    id BIGINT NOT NULL DEFAULT nextval('baskets_seq'),
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    quantity INTEGER NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT NOT NULL DEFAULT nextval('orders_seq'),
+    user_id BIGINT REFERENCES users (id),
+    address_id BIGINT NOT NULL REFERENCES addresses (id),
+    status VARCHAR(255) NOT NULL
+        CHECK (status IN ('PENDING', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    total FLOAT(53) NOT NULL,
+    time_created TIMESTAMP(6) NOT NULL,
+    basket_id BIGINT REFERENCES baskets (id),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS token_revocations (
+    revocation_key VARCHAR(64) NOT NULL,
+    revoked_before TIMESTAMP(6) WITH TIME ZONE,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (revocation_key)
+);
+
+-- Indexes for the repository queries (see RepositoryQueryPlanTest).
+-- Unique constraints above already index users.email/username and
+-- roles/brands/categories.name.
+
+-- BasketRepository: findByUserId, countByUserId, deleteByUserId, findByUserIdAndProductId
+CREATE INDEX IF NOT EXISTS idx_baskets_user_product ON baskets (user_id, product_id);
+-- Foreign key lookups when a product is deleted
+CREATE INDEX IF NOT EXISTS idx_baskets_product_id ON baskets (product_id);
+
+-- OrderRepository: findByUserIdOrderByTimeCreatedDesc, findByUserIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_orders_user_time_created ON orders (user_id, time_created DESC);
+-- OrderRepository: findByStatus
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status);
+-- Foreign key lookups when basket rows are deleted at checkout
+CREATE INDEX IF NOT EXISTS idx_orders_basket_id ON orders (basket_id);
+
+-- ProductRepository: findByBrandId, findByBrandIdAndCategoryId
+CREATE INDEX IF NOT EXISTS idx_products_brand_category ON products (brand_id, category_id);
+-- ProductRepository: findByCategoryId
+CREATE INDEX IF NOT EXISTS idx_products_category_id ON products (category_id);
+-- ProductRepository: findAvailableProducts (quantity > 0)
+CREATE INDEX IF NOT EXISTS idx_products_quantity ON products (quantity);
+-- ProductRepository: findByNameContainingIgnoreCase, i.e. UPPER(name) LIKE '%term%'
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (UPPER(name) gin_trgm_ops);
+
+-- UserRepository directory and findByRole indexes are in V3
+
+-- TokenRevocationRepository: findActiveKeys, deleteExpired
+CREATE INDEX IF NOT EXISTS idx_token_revocations_expires_at ON token_revocations (expires_at);
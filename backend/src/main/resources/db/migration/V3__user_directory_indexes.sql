@@ -0,0 +1,7 @@
+-- Indexes for the paginated user directory (GET /api/users)
+-- Prefix search runs LOWER(col) LIKE 'prefix%'; text_pattern_ops lets
+-- a btree serve that regardless of the database collation.
+CREATE INDEX IF NOT EXISTS idx_users_username_lower_prefix ON users (LOWER(username) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_lower_prefix ON users (LOWER(email) text_pattern_ops);
+-- Role-filtered pages walk role_id then id
+CREATE INDEX IF NOT EXISTS idx_users_role_id_id ON users (role_id, id);
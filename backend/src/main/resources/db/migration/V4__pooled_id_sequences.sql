@@ -0,0 +1,47 @@
+-- Move every entity id from IDENTITY to a pooled sequence (allocationSize = 50)
+-- so Hibernate can batch inserts.
+--
+-- Each sequence increments by 50 to match the JPA allocationSize. setval puts
+-- the next block above the current max(id), which also repairs a sequence that
+-- ddl-auto already created with "start with 1". The column default stays on
+-- the sequence so plain SQL inserts (sample data, scripts) keep working.
+
+CREATE SEQUENCE IF NOT EXISTS addresses_seq INCREMENT BY 50;
+SELECT setval('addresses_seq', COALESCE(MAX(id), 0) + 50, false) FROM addresses;
+ALTER TABLE addresses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE addresses ALTER COLUMN id SET DEFAULT nextval('addresses_seq');
+
+CREATE SEQUENCE IF NOT EXISTS baskets_seq INCREMENT BY 50;
+SELECT setval('baskets_seq', COALESCE(MAX(id), 0) + 50, false) FROM baskets;
+ALTER TABLE baskets ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE baskets ALTER COLUMN id SET DEFAULT nextval('baskets_seq');
+
+CREATE SEQUENCE IF NOT EXISTS brands_seq INCREMENT BY 50;
+SELECT setval('brands_seq', COALESCE(MAX(id), 0) + 50, false) FROM brands;
+ALTER TABLE brands ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE brands ALTER COLUMN id SET DEFAULT nextval('brands_seq');
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50;
+SELECT setval('categories_seq', COALESCE(MAX(id), 0) + 50, false) FROM categories;
+ALTER TABLE categories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('categories_seq');
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+SELECT setval('orders_seq', COALESCE(MAX(id), 0) + 50, false) FROM orders;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT nextval('orders_seq');
+
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+SELECT setval('products_seq', COALESCE(MAX(id), 0) + 50, false) FROM products;
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE products ALTER COLUMN id SET DEFAULT nextval('products_seq');
+
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50;
+SELECT setval('roles_seq', COALESCE(MAX(id), 0) + 50, false) FROM roles;
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id SET DEFAULT nextval('roles_seq');
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
@@ -0,0 +1,150 @@
+package com.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Expiry, size bound and eviction callbacks of BoundedCache, on a manual clock.
+ */
+class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final List<String> evicted = new ArrayList<>();
+
+    private BoundedCache<String, String> cache(int maxSize, long ttlMillis) {
+        return new BoundedCache<>(maxSize, ttlMillis, (key, value) -> evicted.add(key), clock::get);
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        BoundedCache<String, String> cache = cache(10, 100);
+        cache.put("a", "1");
+
+        clock.addAndGet(99);
+        assertEquals("1", cache.get("a"));
+        assertTrue(cache.containsKey("a"));
+
+        clock.addAndGet(1);
+        assertFalse(cache.containsKey("a"));
+        assertNull(cache.get("a"));
+        assertEquals(List.of("a"), evicted);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void explicitExpiryOverridesTheTtl() {
+        BoundedCache<String, String> cache = cache(10, 100);
+        cache.put("short", "1", clock.get() + 10);
+        cache.put("long", "2", clock.get() + 1_000);
+
+        clock.addAndGet(500);
+        assertNull(cache.get("short"));
+        assertEquals("2", cache.get("long"));
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirst() {
+        BoundedCache<String, String> cache = cache(10, 100);
+        for (int i = 0; i < 5; i++) {
+            cache.put("old" + i, "v");
+        }
+        clock.addAndGet(50);
+        for (int i = 0; i < 5; i++) {
+            cache.put("new" + i, "v");
+        }
+        clock.addAndGet(60);
+
+        cache.put("extra", "v");
+
+        assertEquals(6, cache.size());
+        assertEquals(5, evicted.size());
+        assertTrue(evicted.stream().allMatch(key -> key.startsWith("old")));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("v", cache.get("new" + i));
+        }
+    }
+
+    @Test
+    void fullCacheOfLiveEntriesDropsATenth() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, 60_000, (key, value) -> { }, clock::get);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(100, cache.size());
+
+        cache.put(100, 100);
+
+        assertEquals(91, cache.size());
+        assertEquals(100, cache.get(100));
+        for (int i = 101; i < 110; i++) {
+            cache.put(i, i);
+        }
+        // Room was made in one sweep; these inserts did not trigger another
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void neverGrowsPastMaxSize() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(50, 60_000);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 50);
+        }
+    }
+
+    @Test
+    void computeIfAbsentStoresOnlyWhenAbsentOrExpired() {
+        BoundedCache<String, String> cache = cache(10, 100);
+        assertEquals("1", cache.computeIfAbsent("a", key -> "1"));
+        assertEquals("1", cache.computeIfAbsent("a", key -> "2"));
+
+        clock.addAndGet(100);
+        assertEquals("3", cache.computeIfAbsent("a", key -> "3"));
+        assertEquals(List.of("a"), evicted);
+
+        assertNull(cache.computeIfAbsent("b", key -> null));
+        assertFalse(cache.containsKey("b"));
+    }
+
+    @Test
+    void computeIfPresentKeepsTheExpiryAndSkipsExpiredEntries() {
+        BoundedCache<String, String> cache = cache(10, 100);
+        cache.computeIfPresent("missing", (key, value) -> "x");
+        assertFalse(cache.containsKey("missing"));
+
+        cache.put("a", "1");
+        clock.addAndGet(60);
+        cache.computeIfPresent("a", (key, value) -> value + "2");
+        assertEquals("12", cache.get("a"));
+
+        clock.addAndGet(40);
+        cache.computeIfPresent("a", (key, value) -> value + "3");
+        assertFalse(cache.containsKey("a"));
+        assertEquals(List.of("a"), evicted);
+    }
+
+    @Test
+    void removeAndClearDoNotNotifyTheListener() {
+        BoundedCache<String, String> cache = cache(10, 100);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertSame("1", cache.remove("a"));
+        assertNull(cache.remove("a"));
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertTrue(evicted.isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.config;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Translation of the JDBC URL into R2DBC connection options for the reactive
+ * catalog pool. Options are checked against the driver's own constants, so a
+ * misspelt option name fails here rather than being ignored at runtime.
+ */
+class ReactiveCatalogConfigTest {
+
+    @Test
+    void keepsHostPortAndDatabaseAndSkipsJdbcOnlyTuning() {
+        ConnectionFactoryOptions options = ReactiveCatalogConfig
+                .toR2dbcOptions("jdbc:postgresql://db.example.com:5433/estore?reWriteBatchedInserts=true&prepareThreshold=3")
+                .build();
+
+        assertEquals("postgresql", options.getValue(ConnectionFactoryOptions.DRIVER));
+        assertEquals("db.example.com", options.getValue(ConnectionFactoryOptions.HOST));
+        assertEquals(5433, options.getValue(ConnectionFactoryOptions.PORT));
+        assertEquals("estore", options.getValue(ConnectionFactoryOptions.DATABASE));
+        assertFalse(options.hasOption(PostgresqlConnectionFactoryProvider.SSL_MODE));
+    }
+
+    @Test
+    void carriesSslParametersOver() {
+        ConnectionFactoryOptions options = ReactiveCatalogConfig.toR2dbcOptions(
+                "jdbc:postgresql://db:5432/estore?sslmode=verify-ca&sslrootcert=/certs/root%20ca.crt"
+                        + "&sslcert=/certs/client.crt&sslkey=/certs/client.key&sslpassword=secret")
+                .build();
+
+        assertEquals("verify-ca", options.getValue(PostgresqlConnectionFactoryProvider.SSL_MODE));
+        assertEquals("/certs/root ca.crt", options.getValue(PostgresqlConnectionFactoryProvider.SSL_ROOT_CERT));
+        assertEquals("/certs/client.crt", options.getValue(PostgresqlConnectionFactoryProvider.SSL_CERT));
+        assertEquals("/certs/client.key", options.getValue(PostgresqlConnectionFactoryProvider.SSL_KEY));
+        assertEquals("secret", options.getValue(PostgresqlConnectionFactoryProvider.SSL_PASSWORD));
+    }
+
+    @Test
+    void sslTrueMeansVerifyFullUnlessSslmodeIsGiven() {
+        assertEquals("verify-full", ReactiveCatalogConfig
+                .toR2dbcOptions("jdbc:postgresql://db/estore?ssl=true").build()
+                .getValue(PostgresqlConnectionFactoryProvider.SSL_MODE));
+        assertEquals("require", ReactiveCatalogConfig
+                .toR2dbcOptions("jdbc:postgresql://db/estore?ssl=true&sslmode=require").build()
+                .getValue(PostgresqlConnectionFactoryProvider.SSL_MODE));
+    }
+
+    @Test
+    void carriesSessionParametersOver() {
+        ConnectionFactoryOptions options = ReactiveCatalogConfig.toR2dbcOptions(
+                "jdbc:postgresql://db/estore?user=estore&password=s3cret&ApplicationName=estore-catalog"
+                        + "&currentSchema=shop&tcpKeepAlive=true&connectTimeout=7")
+                .build();
+
+        assertEquals("estore", options.getValue(ConnectionFactoryOptions.USER));
+        assertEquals("s3cret", options.getValue(ConnectionFactoryOptions.PASSWORD));
+        assertEquals("estore-catalog", options.getValue(PostgresqlConnectionFactoryProvider.APPLICATION_NAME));
+        assertEquals("shop", options.getValue(PostgresqlConnectionFactoryProvider.CURRENT_SCHEMA));
+        assertEquals("true", options.getValue(PostgresqlConnectionFactoryProvider.TCP_KEEPALIVE));
+        assertEquals(Duration.ofSeconds(7), options.getValue(ConnectionFactoryOptions.CONNECT_TIMEOUT));
+    }
+
+    @Test
+    void driverAcceptsTheTranslatedValues() {
+        ConnectionFactoryOptions options = ReactiveCatalogConfig.toR2dbcOptions(
+                "jdbc:postgresql://db/estore?ssl=true&ApplicationName=estore-catalog&currentSchema=shop"
+                        + "&tcpKeepAlive=true&connectTimeout=7")
+                .option(ConnectionFactoryOptions.USER, "estore")
+                .build();
+
+        assertNotNull(ConnectionFactories.get(options));
+    }
+
+    @Test
+    void rejectsParametersWithoutAnR2dbcEquivalent() {
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> ReactiveCatalogConfig
+                .toR2dbcOptions("jdbc:postgresql://db/estore?sslfactory=org.postgresql.ssl.NonValidatingFactory"));
+        assertTrue(error.getMessage().contains("sslfactory"), error.getMessage());
+        assertTrue(error.getMessage().contains("reactive-catalog.url"), error.getMessage());
+    }
+
+    @Test
+    void rejectsNonPostgresqlUrls() {
+        assertThrows(IllegalStateException.class,
+                () -> ReactiveCatalogConfig.toR2dbcOptions("jdbc:h2:mem:estore"));
+    }
+}
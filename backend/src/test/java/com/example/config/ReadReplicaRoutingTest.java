@@ -0,0 +1,194 @@
+package com.example.config;
+
+import com.example.dto.CreateRoleRequest;
+import com.example.dto.LoginRequest;
+import com.example.exception.ResourceNotFoundException;
+import com.example.security.AuthenticatedUser;
+import com.example.security.UserDetailsCache;
+import com.example.service.AuthService;
+import com.example.service.RoleService;
+import com.example.support.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the application against two PostgreSQL servers, the shared test
+ * instance as primary and a second one as replica. Rows that exist on only
+ * one of them show where each transaction was routed.
+ */
+@SpringBootTest
+@DirtiesContext
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_ONLY_ROLE = "REPLICA_ONLY";
+
+    private static EmbeddedPostgres replica;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) throws IOException {
+        TestPostgres.register(registry);
+        replica = EmbeddedPostgres.builder().start();
+        Flyway.configure()
+                .dataSource(replica.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        new JdbcTemplate(replica.getPostgresDatabase())
+                .update("INSERT INTO roles (name, description) VALUES (?, 'only on the replica')", REPLICA_ONLY_ROLE);
+        registry.add("read-replica.url", () -> replica.getJdbcUrl("postgres", "postgres"));
+        registry.add("read-replica.read-your-writes-window", () -> "60000");
+    }
+
+    @AfterAll
+    static void stopReplica() throws IOException {
+        replica.close();
+    }
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private AuthService authService;
+
+    // Roles are second-level cached; every lookup must reach a database
+    @BeforeEach
+    void clearCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals(REPLICA_ONLY_ROLE, roleService.getRoleByName(REPLICA_ONLY_ROLE).getName());
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        roleService.createRole(new CreateRoleRequest("PRIMARY_ONLY", "created by the test"));
+
+        assertEquals(1, primary().queryForObject(
+                "SELECT COUNT(*) FROM roles WHERE name = 'PRIMARY_ONLY'", Integer.class));
+        assertThrows(ResourceNotFoundException.class, () -> roleService.getRoleByName("PRIMARY_ONLY"));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        signInAs(1001L);
+        transactionTemplate.executeWithoutResult(status -> roleService.getAllRoles());
+        assertThrows(ResourceNotFoundException.class, () -> roleService.getRoleByName(REPLICA_ONLY_ROLE));
+
+        clearCache();
+        signInAs(1002L);
+        assertEquals(REPLICA_ONLY_ROLE, roleService.getRoleByName(REPLICA_ONLY_ROLE).getName());
+    }
+
+    @Test
+    void onPrimaryKeepsReadOnlyTransactionsOnThePrimary() {
+        ReplicaRoutingDataSource.onPrimary(() -> assertThrows(ResourceNotFoundException.class,
+                () -> roleService.getRoleByName(REPLICA_ONLY_ROLE)));
+    }
+
+    @Test
+    void tokenVersionIsReadFromThePrimary() {
+        String email = "lagging.version@example.com";
+        String hash = new BCryptPasswordEncoder().encode("password123");
+        // The replica has not yet seen the change that bumped the version to 4
+        insertUser(primary(), email, hash, 4);
+        insertUser(replicaDatabase(), email, hash, 3);
+        try {
+            userDetailsCache.invalidate(email);
+
+            AuthenticatedUser loaded = (AuthenticatedUser) userDetailsService.loadUserByUsername(email);
+
+            assertEquals(4, loaded.getTokenVersion());
+            assertEquals(4, userDetailsCache.get(email).getTokenVersion());
+        } finally {
+            userDetailsCache.invalidate(email);
+            deleteUser(email);
+        }
+    }
+
+    @Test
+    void loginChecksThePasswordOnThePrimary() {
+        String email = "lagging.password@example.com";
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        // The replica still holds the hash from before a password change
+        insertUser(primary(), email, encoder.encode("new-password"), 1);
+        insertUser(replicaDatabase(), email, encoder.encode("old-password"), 0);
+        try {
+            assertNotNull(authService.login(new LoginRequest(email, "new-password")).getToken());
+            assertThrows(BadCredentialsException.class,
+                    () -> authService.login(new LoginRequest(email, "old-password")));
+        } finally {
+            userDetailsCache.invalidate(email);
+            deleteUser(email);
+        }
+    }
+
+    private static JdbcTemplate primary() {
+        return new JdbcTemplate(TestPostgres.get().getPostgresDatabase());
+    }
+
+    private static JdbcTemplate replicaDatabase() {
+        return new JdbcTemplate(replica.getPostgresDatabase());
+    }
+
+    private static void insertUser(JdbcTemplate database, String email, String passwordHash, long tokenVersion) {
+        database.update("""
+                INSERT INTO users (username, email, password, role_id, token_version)
+                VALUES (?, ?, ?, (SELECT MIN(id) FROM roles), ?)
+                """, email, email, passwordHash, tokenVersion);
+    }
+
+    private static void deleteUser(String email) {
+        primary().update("DELETE FROM users WHERE email = ?", email);
+        replicaDatabase().update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    private static void signInAs(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", "", "USER", 0, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
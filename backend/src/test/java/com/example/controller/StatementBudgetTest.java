@@ -0,0 +1,387 @@
+package com.example.controller;
+
+import com.example.support.StatementRecorder;
+import com.example.support.StatementRecorder.RecordedStatement;
+import com.example.support.TestPostgres;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Drives every controller endpoint over HTTP against a seeded dataset and
+ * fails when an endpoint runs more SQL statements than its budget. List
+ * endpoints are also called with a small and a large result, and the number
+ * of statements must not change between the two: a count that grows with
+ * the result size is an N+1.
+ *
+ * Read endpoints are measured on their second call, so caches that are warm
+ * in production (JWT, UserDetails, second-level cache) are warm here too.
+ * Write endpoints are measured on their only call; their budgets include one
+ * {@code nextval} per sequence they insert into, which Hibernate only runs
+ * once every allocationSize inserts.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "rate-limit.enabled=false",
+        "spring.jpa.show-sql=false",
+        "user-details-cache.ttl=3600000"
+})
+@Import(StatementRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTest {
+
+    private static final int LOAD_USERS = 200;
+    private static final int LOAD_PRODUCTS = 1000;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry, "statement_budget");
+    }
+
+    /**
+     * What one request cost.
+     */
+    private record Usage(String endpoint, int status, String body, List<RecordedStatement> statements, long rows) {
+
+        JsonNode json() {
+            try {
+                return MAPPER.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException(endpoint + " did not return JSON: " + body, e);
+            }
+        }
+
+        String describe() {
+            Map<String, Long> bySql = statements.stream()
+                    .collect(Collectors.groupingBy(RecordedStatement::sql, TreeMap::new, Collectors.counting()));
+            return endpoint + " ran " + statements.size() + " statements, " + rows + " rows:\n"
+                    + bySql.entrySet().stream()
+                            .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                            .collect(Collectors.joining("\n"));
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private JdbcTemplate jdbc;
+    private String token;
+    private long userId;
+    private long userRoleId;
+    private long guestRoleId;
+    private long brandId;
+    private long categoryId;
+    private long smallBrandId;
+    private long smallCategoryId;
+    private long fewOrdersUserId;
+    private long manyOrdersUserId;
+    private long fewLinesUserId;
+    private long manyLinesUserId;
+
+    /**
+     * DataInitializer seeds the reference data; this adds users with
+     * addresses, products, basket lines and orders on top, with per-user
+     * counts that vary so the small/large comparisons have something to
+     * compare.
+     */
+    @BeforeAll
+    void seed() throws Exception {
+        jdbc = new JdbcTemplate(dataSource);
+        userRoleId = id("SELECT id FROM roles WHERE name = 'ROLE_USER'");
+        guestRoleId = id("SELECT id FROM roles WHERE name = 'ROLE_GUEST'");
+        brandId = id("SELECT MIN(id) FROM brands");
+        categoryId = id("SELECT MIN(id) FROM categories");
+
+        jdbc.update("""
+                WITH a AS (
+                    INSERT INTO addresses (zip, country, street, province)
+                    SELECT 'M5V2T6', 'Canada', g || ' Load Street', 'Ontario' FROM generate_series(1, ?) g
+                    RETURNING id)
+                INSERT INTO users (username, email, password, role_id, phone_number, address_id, token_version)
+                SELECT 'load_user_' || n, 'load.user.' || n || '@example.com',
+                       (SELECT password FROM users WHERE email = 'john.doe@email.com'), ?, '+1-416-555-0199', id, 0
+                FROM (SELECT id, row_number() OVER (ORDER BY id) n FROM a) numbered
+                """, LOAD_USERS, userRoleId);
+        jdbc.update("""
+                INSERT INTO products (name, quantity, price, description, brand_id, category_id)
+                SELECT 'Load Product ' || g, 1000, 5 + g % 95, 'Generated for the statement budget test',
+                       b.ids[1 + g % array_length(b.ids, 1)], c.ids[1 + g % array_length(c.ids, 1)]
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(id ORDER BY id) ids FROM brands) b,
+                     (SELECT array_agg(id ORDER BY id) ids FROM categories) c
+                """, LOAD_PRODUCTS);
+        jdbc.update("""
+                INSERT INTO baskets (user_id, product_id, quantity)
+                SELECT u.id, p.ids[1 + (u.n * 7 + g) % array_length(p.ids, 1)], 1
+                FROM (SELECT id, row_number() OVER (ORDER BY id) n FROM users WHERE username LIKE 'load_user_%') u,
+                     (SELECT array_agg(id ORDER BY id) ids FROM products) p,
+                     generate_series(1, 1 + (u.n % 8)::int) g
+                """);
+        jdbc.update("""
+                INSERT INTO orders (user_id, address_id, status, total, time_created)
+                SELECT u.id, u.address_id, CASE WHEN g = 1 AND u.n % 50 = 0 THEN 'DELIVERED' ELSE 'PENDING' END,
+                       20 + g, now() - g * interval '1 hour'
+                FROM (SELECT id, address_id, row_number() OVER (ORDER BY id) n FROM users
+                      WHERE username LIKE 'load_user_%') u,
+                     generate_series(1, 1 + (u.n % 10)::int) g
+                """);
+        jdbc.execute("ANALYZE");
+
+        fewOrdersUserId = id("SELECT user_id FROM orders GROUP BY user_id ORDER BY COUNT(*), user_id LIMIT 1");
+        manyOrdersUserId = id("SELECT user_id FROM orders GROUP BY user_id ORDER BY COUNT(*) DESC, user_id LIMIT 1");
+        fewLinesUserId = id("SELECT user_id FROM baskets GROUP BY user_id ORDER BY COUNT(*), user_id LIMIT 1");
+        manyLinesUserId = id("SELECT user_id FROM baskets GROUP BY user_id ORDER BY COUNT(*) DESC, user_id LIMIT 1");
+
+        Usage login = send("POST", "/api/auth/login",
+                Map.of("email", "john.doe@email.com", "password", "password123"));
+        token = login.json().get("token").asText();
+        userId = login.json().get("user").get("id").asLong();
+
+        smallBrandId = id("INSERT INTO brands (name) VALUES ('Budget Test Brand') RETURNING id");
+        smallCategoryId = id("INSERT INTO categories (name) VALUES ('Budget Test Category') RETURNING id");
+        jdbc.update("""
+                INSERT INTO products (name, quantity, price, brand_id, category_id)
+                VALUES ('Budget Unique Widget', 10, 9.99, ?, ?)
+                """, smallBrandId, smallCategoryId);
+    }
+
+    @Test
+    void productEndpoints() throws Exception {
+        assertBudget(read("GET", "/api/products"), 1);
+        assertBudget(read("GET", "/api/products?availableOnly=true"), 1);
+        long productId = id("SELECT MIN(id) FROM products");
+        assertBudget(read("GET", "/api/products/" + productId), 1);
+
+        assertFlat(read("GET", "/api/products/brand/" + smallBrandId),
+                read("GET", "/api/products/brand/" + brandId), 2);
+        assertFlat(read("GET", "/api/products/category/" + smallCategoryId),
+                read("GET", "/api/products/category/" + categoryId), 2);
+        assertFlat(read("GET", "/api/products/search?name=Unique%20Widget"),
+                read("GET", "/api/products/search?name=Load%20Product%201"), 1);
+        assertFlat(read("GET", "/api/products/filter?brandId=" + smallBrandId + "&categoryId=" + smallCategoryId),
+                read("GET", "/api/products/filter?brandId=" + brandId + "&categoryId=" + categoryId), 1);
+
+        Map<String, Object> product = Map.of("name", "Budget Lamp", "quantity", 5, "price", 19.5,
+                "brandId", brandId, "categoryId", categoryId);
+        Usage created = write("POST", "/api/products", product);
+        assertBudget(created, 2);
+        long createdId = created.json().get("id").asLong();
+        assertBudget(write("PUT", "/api/products/" + createdId, product), 1);
+        assertBudget(write("PATCH", "/api/products/" + createdId + "/quantity?quantity=7", null), 2);
+        assertBudget(write("DELETE", "/api/products/" + createdId, null), 3);
+    }
+
+    @Test
+    void orderEndpoints() throws Exception {
+        long orderId = id("SELECT MIN(id) FROM orders");
+        assertBudget(read("GET", "/api/orders/" + orderId), 1);
+        assertBudget(read("GET", "/api/orders"), 1);
+        assertFlat(read("GET", "/api/orders/user/" + fewOrdersUserId),
+                read("GET", "/api/orders/user/" + manyOrdersUserId), 2);
+        assertFlat(read("GET", "/api/orders/status/DELIVERED"),
+                read("GET", "/api/orders/status/PENDING"), 1);
+
+        long productId = id("SELECT MIN(id) FROM products WHERE name LIKE 'Load Product%'");
+        send("POST", "/api/basket", Map.of("userId", userId, "productId", productId, "quantity", 1));
+        long addressId = id("SELECT address_id FROM users WHERE id = " + userId);
+        Usage checkout = write("POST", "/api/orders", Map.of("userId", userId, "addressId", addressId));
+        assertBudget(checkout, 7);
+        long createdId = checkout.json().get("id").asLong();
+        assertBudget(write("PATCH", "/api/orders/" + createdId + "/status?status=PROCESSING", null), 2);
+        assertBudget(write("DELETE", "/api/orders/" + createdId, null), 2);
+    }
+
+    @Test
+    void basketEndpoints() throws Exception {
+        assertFlat(read("GET", "/api/basket/user/" + fewLinesUserId),
+                read("GET", "/api/basket/user/" + manyLinesUserId), 3);
+        assertBudget(read("GET", "/api/basket/user/" + manyLinesUserId + "/count"), 0);
+        assertBudget(read("GET", "/api/basket/user/" + manyLinesUserId + "/summary"), 0);
+
+        long basketUser = id("SELECT id FROM users WHERE username = 'load_user_3'");
+        long productId = id("SELECT MAX(id) FROM products WHERE name LIKE 'Load Product%'");
+        long otherProductId = id("SELECT MIN(id) FROM products WHERE name LIKE 'Load Product%'");
+        Usage added = write("POST", "/api/basket", Map.of("userId", basketUser, "productId", productId, "quantity", 1));
+        assertBudget(added, 5);
+        long lineId = added.json().get("id").asLong();
+        assertBudget(write("PATCH", "/api/basket/" + lineId + "?quantity=2", null), 2);
+        assertBudget(write("POST", "/api/basket/user/" + basketUser + "/batch", Map.of("operations", List.of(
+                Map.of("type", "SET", "productId", productId, "quantity", 3),
+                Map.of("type", "ADD", "productId", otherProductId, "quantity", 1)))), 6);
+        assertBudget(write("DELETE", "/api/basket/" + lineId, null), 2);
+        assertBudget(write("DELETE", "/api/basket/user/" + basketUser, null), 2);
+    }
+
+    @Test
+    void guestCartEndpoints() throws Exception {
+        long productId = id("SELECT MIN(id) FROM products WHERE name LIKE 'Load Product%'");
+        Usage created = write("POST", "/api/guest-cart", null);
+        assertBudget(created, 0);
+        String cart = created.json().get("token").asText();
+        assertBudget(write("POST", "/api/guest-cart/" + cart + "/items", Map.of("productId", productId, "quantity", 2)), 2);
+        assertBudget(read("GET", "/api/guest-cart/" + cart), 1);
+        assertBudget(write("PATCH", "/api/guest-cart/" + cart + "/items/" + productId + "?quantity=3", null), 2);
+        assertBudget(write("DELETE", "/api/guest-cart/" + cart + "/items/" + productId, null), 0);
+        assertBudget(write("DELETE", "/api/guest-cart/" + cart, null), 0);
+
+        String promoted = send("POST", "/api/guest-cart", null).json().get("token").asText();
+        send("POST", "/api/guest-cart/" + promoted + "/items", Map.of("productId", productId, "quantity", 1));
+        assertBudget(write("POST", "/api/guest-cart/" + promoted + "/promote", null), 5);
+    }
+
+    @Test
+    void userEndpoints() throws Exception {
+        assertBudget(read("GET", "/api/users/" + userId), 1);
+        assertBudget(read("GET", "/api/users/email/john.doe@email.com"), 1);
+        assertFlat(read("GET", "/api/users?limit=5"), read("GET", "/api/users?limit=100"), 1);
+        assertFlat(read("GET", "/api/users/role/" + guestRoleId), read("GET", "/api/users/role/" + userRoleId), 1);
+
+        Map<String, Object> address = Map.of("zip", "M4B1B3", "country", "Canada", "street", "1 Budget Way",
+                "province", "Ontario");
+        Usage created = write("POST", "/api/users", Map.of("username", "budget_user", "email", "budget.user@example.com",
+                "password", "secret123", "roleId", userRoleId, "address", address));
+        assertBudget(created, 6);
+        long createdId = created.json().get("id").asLong();
+        assertBudget(write("PUT", "/api/users/" + createdId, Map.of("username", "budget_user2",
+                "email", "budget.user@example.com", "roleId", userRoleId, "address", address)), 3);
+        assertBudget(write("DELETE", "/api/users/" + createdId, null), 4);
+
+        assertBudget(write("POST", "/api/users/bulk", Map.of("users", List.of(
+                Map.of("username", "bulk_one", "email", "bulk.one@example.com", "password", "secret123",
+                        "roleId", userRoleId),
+                Map.of("username", "bulk_two", "email", "bulk.two@example.com", "password", "secret123",
+                        "roleId", userRoleId)))), 7);
+        // Addresses are persisted by cascade, batched like the users
+        assertBudget(write("POST", "/api/users/bulk", Map.of("users", List.of(
+                Map.of("username", "bulk_three", "email", "bulk.three@example.com", "password", "secret123",
+                        "roleId", userRoleId, "address", address),
+                Map.of("username", "bulk_four", "email", "bulk.four@example.com", "password", "secret123",
+                        "roleId", userRoleId, "address", address)))), 7);
+    }
+
+    @Test
+    void roleEndpoints() throws Exception {
+        assertBudget(read("GET", "/api/roles"), 1);
+        assertBudget(read("GET", "/api/roles/" + userRoleId), 0);
+        assertBudget(read("GET", "/api/roles/name/ROLE_USER"), 0);
+
+        Usage created = write("POST", "/api/roles", Map.of("name", "ROLE_BUDGET", "description", "Budget test"));
+        assertBudget(created, 3);
+        long roleId = created.json().get("id").asLong();
+        // A rename also bumps the token version of the role's users, in one UPDATE
+        assertBudget(write("PUT", "/api/roles/" + roleId, Map.of("name", "ROLE_BUDGET2", "description", "Renamed")), 3);
+        assertBudget(write("DELETE", "/api/roles/" + roleId, null), 3);
+    }
+
+    @Test
+    void authAndMetricsEndpoints() throws Exception {
+        assertBudget(write("POST", "/api/auth/login",
+                Map.of("email", "jane.smith@email.com", "password", "password123")), 1);
+        Usage registered = write("POST", "/api/auth/register", Map.of("username", "budget_register",
+                "email", "budget.register@example.com", "password", "secret123", "roleId", userRoleId));
+        assertBudget(registered, 4);
+        assertBudget(read("GET", "/api/auth/validate"), 1);
+
+        String otherToken = registered.json().get("token").asText();
+        Usage logout = send("POST", "/api/auth/logout", null, otherToken, true);
+        assertBudget(logout, 2);
+
+        String adminToken = send("POST", "/api/auth/login",
+                Map.of("email", "admin@estore.com", "password", "password123"), null, false).json().get("token").asText();
+        send("GET", "/api/admin/metrics/password-hashing", null, adminToken, false);
+        assertBudget(send("GET", "/api/admin/metrics/password-hashing", null, adminToken, true), 0);
+    }
+
+    private long id(String sql) {
+        Long value = jdbc.queryForObject(sql, Long.class);
+        assertTrue(value != null, "No row for " + sql);
+        return value;
+    }
+
+    private Usage read(String method, String path) throws Exception {
+        send(method, path, null);
+        return send(method, path, null, token, true);
+    }
+
+    private Usage write(String method, String path, Object body) throws Exception {
+        return send(method, path, body, token, true);
+    }
+
+    private Usage send(String method, String path, Object body) throws Exception {
+        return send(method, path, body, token, false);
+    }
+
+    private Usage send(String method, String path, Object body, String bearer, boolean record) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        if (record) {
+            recorder.start();
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        List<RecordedStatement> statements = record ? recorder.stop() : List.of();
+        long rows = record ? recorder.rowsFetched() : 0;
+        String endpoint = method + " " + path;
+        if (response.statusCode() >= 300) {
+            fail(endpoint + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return new Usage(endpoint, response.statusCode(), response.body(), statements, rows);
+    }
+
+    private static void assertBudget(Usage usage, int budget) {
+        if (usage.statements().size() > budget) {
+            fail("Over budget (" + budget + "): " + usage.describe());
+        }
+    }
+
+    /**
+     * Both calls must stay within budget and run the same number of
+     * statements, although the large one returns more rows.
+     */
+    private static void assertFlat(Usage small, Usage large, int budget) {
+        assertBudget(small, budget);
+        assertBudget(large, budget);
+        assertTrue(large.rows() > small.rows(), "Expected " + large.endpoint() + " to fetch more rows than "
+                + small.endpoint() + " (" + large.rows() + " vs " + small.rows() + ")");
+        assertEquals(small.statements().size(), large.statements().size(),
+                () -> "Statement count grows with the result size:\n" + small.describe() + "\n" + large.describe());
+    }
+}
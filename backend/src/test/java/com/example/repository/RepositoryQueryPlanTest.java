@@ -0,0 +1,165 @@
+package com.example.repository;
+
+import com.example.model.OrderStatus;
+import com.example.support.StatementRecorder;
+import com.example.support.StatementRecorder.RecordedStatement;
+import com.example.support.TestPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every custom repository query against the Flyway schema and checks
+ * its plan with EXPLAIN. Sequential scans are disabled for the check, so the
+ * planner only picks one when no index can serve the query at all, which
+ * means a migration is missing an index.
+ *
+ * Warmup is off: it preloads the query cache, and cached queries run no SQL
+ * to explain.
+ */
+@SpringBootTest(properties = "warmup.enabled=false")
+@Import(StatementRecorder.class)
+class RepositoryQueryPlanTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry);
+    }
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Test
+    void productQueriesUseIndexes() throws Exception {
+        assertIndexed("findByBrandId", () -> productRepository.findByBrandId(1L));
+        assertIndexed("findByCategoryId", () -> productRepository.findByCategoryId(1L));
+        assertIndexed("findByNameContainingIgnoreCase", () -> productRepository.findByNameContainingIgnoreCase("coffee"));
+        assertIndexed("findAvailableProducts", () -> productRepository.findAvailableProducts());
+        assertIndexed("findByBrandIdAndCategoryId", () -> productRepository.findByBrandIdAndCategoryId(1L, 1L));
+    }
+
+    @Test
+    void orderQueriesUseIndexes() throws Exception {
+        assertIndexed("findByUserIdOrderByTimeCreatedDesc", () -> orderRepository.findByUserIdOrderByTimeCreatedDesc(1L));
+        assertIndexed("findByStatus", () -> orderRepository.findByStatus(OrderStatus.PENDING));
+        assertIndexed("findByUserIdAndStatus", () -> orderRepository.findByUserIdAndStatus(1L, OrderStatus.PENDING));
+    }
+
+    @Test
+    void basketQueriesUseIndexes() throws Exception {
+        assertIndexed("findByUserId", () -> basketRepository.findByUserId(1L));
+        assertIndexed("findByUserIdAndProductId", () -> basketRepository.findByUserIdAndProductId(1L, 1L));
+        assertIndexed("countByUserId", () -> basketRepository.countByUserId(1L));
+        assertIndexed("deleteByUserId", () -> transactionTemplate.executeWithoutResult(status -> {
+            basketRepository.deleteByUserId(-1L);
+        }));
+    }
+
+    @Test
+    void userAndLookupQueriesUseIndexes() throws Exception {
+        assertIndexed("findByEmail", () -> userRepository.findByEmail("admin@estore.com"));
+        assertIndexed("findByUsername", () -> userRepository.findByUsername("admin"));
+        assertIndexed("findByRole", () -> userRepository.findByRole(roleRepository.getReferenceById(1L)));
+        assertIndexed("findExistingEmails", () -> userRepository.findExistingEmails(List.of("a@example.com")));
+        assertIndexed("findDirectoryPageByRole", () -> userRepository.findDirectoryPageByRole(0L, 1L, Limit.of(50)));
+        assertIndexed("searchDirectoryPage", () -> userRepository.searchDirectoryPage(0L, "adm%", Limit.of(50)));
+        assertIndexed("role findByName", () -> roleRepository.findByName("ROLE_ADMIN"));
+        assertIndexed("brand findByName", () -> brandRepository.findByName("TechMaster"));
+        assertIndexed("category findByName", () -> categoryRepository.findByName("Books"));
+        assertIndexed("findActiveKeys", () -> tokenRevocationRepository.findActiveKeys(Instant.now()));
+        assertIndexed("deleteExpired", () -> tokenRevocationRepository.deleteExpired(Instant.now()));
+    }
+
+    private void assertIndexed(String query, Runnable call) throws Exception {
+        List<RecordedStatement> statements;
+        recorder.start();
+        try {
+            call.run();
+        } finally {
+            statements = recorder.stop();
+        }
+        assertFalse(statements.isEmpty(), query + " executed no SQL");
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            try {
+                for (RecordedStatement recorded : statements) {
+                    String sql = recorded.sql().strip().toLowerCase(Locale.ROOT);
+                    boolean filtered = sql.startsWith("select") || sql.startsWith("update") || sql.startsWith("delete");
+                    if (!filtered || !sql.contains(" where ")) {
+                        continue;
+                    }
+                    String plan = explain(connection, recorded);
+                    if (plan.contains("Seq Scan")) {
+                        fail(query + " falls back to a sequential scan:\n" + recorded.sql() + "\n" + plan);
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        }
+    }
+
+    private static String explain(Connection connection, RecordedStatement recorded) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (PreparedStatement statement = recorded.replay(connection, "EXPLAIN ");
+                ResultSet plan = statement.executeQuery()) {
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+        }
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sizing and accuracy of the revocation Bloom filter. Keys are shaped like
+ * the real denylist keys ("t:&lt;uuid-like id&gt;", "u:&lt;user id&gt;").
+ */
+class BloomFilterTest {
+
+    @Test
+    void sizesBitsAndHashesFromInsertionsAndRate() {
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        BloomFilter filter = BloomFilter.create(100_000, 0.001);
+        assertEquals(1_437_759, filter.getBitCount());
+        assertEquals(10, filter.getHashCount());
+        assertEquals(100_000, filter.getExpectedInsertions());
+
+        BloomFilter coarse = BloomFilter.create(1_000, 0.01);
+        assertEquals(9_586, coarse.getBitCount());
+        assertEquals(7, coarse.getHashCount());
+    }
+
+    @Test
+    void keepsAMinimumSizeForTinyOrEmptyFilters() {
+        BloomFilter empty = BloomFilter.create(0, 0.001);
+        assertEquals(1, empty.getExpectedInsertions());
+        assertEquals(64, empty.getBitCount());
+        assertTrue(empty.getHashCount() >= 1);
+        assertFalse(empty.mightContain("t:anything"));
+    }
+
+    @Test
+    void neverReportsAnInsertedKeyAsAbsent() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(tokenKey(i));
+            filter.put("u:" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(tokenKey(i)), tokenKey(i));
+            assertTrue(filter.mightContain("u:" + i), "u:" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        int insertions = 50_000;
+        double target = 0.001;
+        BloomFilter filter = BloomFilter.create(insertions, target);
+        for (int i = 0; i < insertions; i++) {
+            filter.put(tokenKey(i));
+        }
+
+        int probes = 500_000;
+        int falsePositives = 0;
+        for (int i = insertions; i < insertions + probes; i++) {
+            if (filter.mightContain(tokenKey(i))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < target * 2, "false-positive rate " + rate + " at capacity, target " + target);
+    }
+
+    @Test
+    void falsePositiveRateDegradesWhenOverfilled() {
+        // Why TokenRevocationService rebuilds once more keys than expected were added
+        int expected = 1_000;
+        BloomFilter filter = BloomFilter.create(expected, 0.001);
+        for (int i = 0; i < expected * 10; i++) {
+            filter.put(tokenKey(i));
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = expected * 10; i < expected * 10 + probes; i++) {
+            if (filter.mightContain(tokenKey(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue((double) falsePositives / probes > 0.1);
+    }
+
+    private static String tokenKey(int i) {
+        return "t:" + Long.toHexString(0x5DEECE66DL * (i + 1)) + "-" + i;
+    }
+}
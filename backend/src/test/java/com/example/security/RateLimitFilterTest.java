@@ -0,0 +1,273 @@
+package com.example.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * GCRA budgets, response headers, idle-bucket sweeping and client keys of
+ * RateLimitFilter, on a manual nanosecond clock.
+ */
+class RateLimitFilterTest {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    // Away from zero: bucket times are relative to the clock at construction
+    private final AtomicLong clock = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+    private final JwtService jwtService = mock(JwtService.class);
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        filter = filter(false);
+    }
+
+    private RateLimitFilter filter(boolean trustForwardedFor) {
+        RateLimitFilter filter = new RateLimitFilter(jwtService, clock::get);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "idleTimeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(filter, "trustForwardedFor", trustForwardedFor);
+        // Browse: 5 requests, then one per second. Search: 2, then one every 2 s.
+        ReflectionTestUtils.setField(filter, "browseCapacity", 5L);
+        ReflectionTestUtils.setField(filter, "browseRefill", 1.0);
+        ReflectionTestUtils.setField(filter, "searchCapacity", 2L);
+        ReflectionTestUtils.setField(filter, "searchRefill", 0.5);
+        // Auth: 2 requests, then one every 100 s
+        ReflectionTestUtils.setField(filter, "authCapacity", 2L);
+        ReflectionTestUtils.setField(filter, "authRefill", 0.01);
+        ReflectionTestUtils.setField(filter, "checkoutCapacity", 5L);
+        ReflectionTestUtils.setField(filter, "checkoutRefill", 1.0);
+        ReflectionTestUtils.setField(filter, "defaultCapacity", 5L);
+        ReflectionTestUtils.setField(filter, "defaultRefill", 1.0);
+        filter.init();
+        return filter;
+    }
+
+    @Test
+    void allowsTheBurstThenRejectsWithRetryAfter() throws Exception {
+        for (int i = 4; i >= 0; i--) {
+            MockHttpServletResponse response = send(filter, browse(CLIENT));
+            assertEquals(200, response.getStatus());
+            assertEquals("5", response.getHeader("RateLimit-Limit"));
+            assertEquals(String.valueOf(i), response.getHeader("RateLimit-Remaining"));
+            // Seconds until the bucket is full again
+            assertEquals(String.valueOf(5 - i), response.getHeader("RateLimit-Reset"));
+            assertNull(response.getHeader("Retry-After"));
+        }
+
+        MockHttpServletResponse rejected = send(filter, browse(CLIENT));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals("5", rejected.getHeader("RateLimit-Limit"));
+        assertEquals("0", rejected.getHeader("RateLimit-Remaining"));
+        assertEquals("5", rejected.getHeader("RateLimit-Reset"));
+        assertEquals("application/json", rejected.getContentType());
+        assertTrue(rejected.getContentAsString().contains("\"error\":\"Too Many Requests\""),
+                rejected.getContentAsString());
+    }
+
+    @Test
+    void retryAfterRoundsUpToTheNextWholeSecond() throws Exception {
+        send(filter, search(CLIENT));
+        send(filter, search(CLIENT));
+
+        MockHttpServletResponse rejected = send(filter, search(CLIENT));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+
+        advance(500);
+        rejected = send(filter, search(CLIENT));
+        assertEquals(429, rejected.getStatus());
+        // 1.5 s left
+        assertEquals("2", rejected.getHeader("Retry-After"));
+
+        advance(1_499);
+        assertEquals("1", send(filter, search(CLIENT)).getHeader("Retry-After"));
+
+        advance(1);
+        assertEquals(200, send(filter, search(CLIENT)).getStatus());
+    }
+
+    @Test
+    void refillsOneTokenPerIntervalUpToTheCapacity() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            send(filter, browse(CLIENT));
+        }
+        assertEquals(429, send(filter, browse(CLIENT)).getStatus());
+
+        advance(1_000);
+        MockHttpServletResponse refilled = send(filter, browse(CLIENT));
+        assertEquals(200, refilled.getStatus());
+        assertEquals("0", refilled.getHeader("RateLimit-Remaining"));
+        assertEquals(429, send(filter, browse(CLIENT)).getStatus());
+
+        advance(3_000);
+        assertEquals("2", send(filter, browse(CLIENT)).getHeader("RateLimit-Remaining"));
+
+        // A long pause refills to the capacity, not beyond it
+        advance(60_000);
+        assertEquals("4", send(filter, browse(CLIENT)).getHeader("RateLimit-Remaining"));
+    }
+
+    @Test
+    void keepsSeparateBudgetsPerEndpointClassAndClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            send(filter, browse(CLIENT));
+        }
+        assertEquals(429, send(filter, browse(CLIENT)).getStatus());
+
+        assertEquals(200, send(filter, search(CLIENT)).getStatus());
+        assertEquals(200, send(filter, browse("10.0.0.2")).getStatus());
+        // The reactive catalog shares the budget of the endpoint it mirrors
+        assertEquals(429, send(filter, request("GET", "/api/reactive/products", CLIENT)).getStatus());
+    }
+
+    @Test
+    void sweepsBucketsThatAreIdleAndFull() throws Exception {
+        send(filter, browse("10.0.0.1"));
+        send(filter, browse("10.0.0.2"));
+        assertEquals(2, filter.bucketCount());
+
+        advance(61_000);
+        send(filter, browse("10.0.0.3"));
+
+        assertEquals(1, filter.bucketCount());
+    }
+
+    @Test
+    void keepsIdleBucketsThatAreStillRefilling() throws Exception {
+        send(filter, request("POST", "/api/auth/login", CLIENT));
+        send(filter, request("POST", "/api/auth/login", CLIENT));
+        assertEquals(429, send(filter, request("POST", "/api/auth/login", CLIENT)).getStatus());
+
+        // Idle past the timeout, but a token is still 100 s away
+        advance(61_000);
+        send(filter, browse("10.0.0.2"));
+
+        assertEquals(2, filter.bucketCount());
+        assertEquals(429, send(filter, request("POST", "/api/auth/login", CLIENT)).getStatus());
+    }
+
+    @Test
+    void sweepsAtMostOncePerIdleTimeout() throws Exception {
+        send(filter, browse("10.0.0.1"));
+        advance(61_000);
+        send(filter, browse("10.0.0.2"));
+        send(filter, browse("10.0.0.3"));
+        assertEquals(2, filter.bucketCount());
+
+        // The next sweep is due 60 s after the last one
+        advance(59_000);
+        send(filter, browse("10.0.0.4"));
+        assertEquals(3, filter.bucketCount());
+
+        // 10.0.0.2 and 10.0.0.3 are idle by now, 10.0.0.4 is not
+        advance(2_000);
+        send(filter, browse("10.0.0.5"));
+        assertEquals(2, filter.bucketCount());
+    }
+
+    @Test
+    void ignoresForwardedForUnlessTrusted() throws Exception {
+        MockHttpServletRequest request = browse(CLIENT);
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+        assertEquals("ip" + CLIENT, filter.clientKey(request));
+
+        // Spoofed addresses all share the connection's budget
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest spoofed = browse(CLIENT);
+            spoofed.addHeader("X-Forwarded-For", "203.0.113." + i);
+            assertEquals(200, send(filter, spoofed).getStatus());
+        }
+        MockHttpServletRequest spoofed = browse(CLIENT);
+        spoofed.addHeader("X-Forwarded-For", "203.0.113.99");
+        assertEquals(429, send(filter, spoofed).getStatus());
+    }
+
+    @Test
+    void usesTheFirstForwardedForAddressWhenTrusted() {
+        RateLimitFilter trusting = filter(true);
+
+        MockHttpServletRequest proxied = browse(CLIENT);
+        proxied.addHeader("X-Forwarded-For", " 203.0.113.7 , 10.0.0.9");
+        assertEquals("ip203.0.113.7", trusting.clientKey(proxied));
+
+        MockHttpServletRequest blank = browse(CLIENT);
+        blank.addHeader("X-Forwarded-For", " ");
+        assertEquals("ip" + CLIENT, trusting.clientKey(blank));
+
+        assertEquals("ip" + CLIENT, trusting.clientKey(browse(CLIENT)));
+    }
+
+    @Test
+    void keysValidBearerTokensByUserId() {
+        Instant now = Instant.now();
+        when(jwtService.verify("valid")).thenReturn(
+                new JwtClaims("john.doe@email.com", "t1", 42L, "ROLE_USER", 0L, now, now.plusSeconds(60)));
+        when(jwtService.verify("legacy")).thenReturn(
+                new JwtClaims("john.doe@email.com", "t2", null, null, null, now, now.plusSeconds(60)));
+        when(jwtService.verify("forged")).thenThrow(new IllegalArgumentException("bad signature"));
+        RateLimitFilter trusting = filter(true);
+
+        MockHttpServletRequest valid = browse(CLIENT);
+        valid.addHeader("Authorization", "Bearer valid");
+        valid.addHeader("X-Forwarded-For", "203.0.113.7");
+        assertEquals("u42", trusting.clientKey(valid));
+
+        MockHttpServletRequest legacy = browse(CLIENT);
+        legacy.addHeader("Authorization", "Bearer legacy");
+        assertEquals("ip" + CLIENT, trusting.clientKey(legacy));
+
+        MockHttpServletRequest forged = browse(CLIENT);
+        forged.addHeader("Authorization", "Bearer forged");
+        forged.addHeader("X-Forwarded-For", "203.0.113.7");
+        assertEquals("ip203.0.113.7", trusting.clientKey(forged));
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() == 200) {
+            assertNotNull(chain.getRequest(), "allowed request was not passed on");
+        } else {
+            assertNull(chain.getRequest(), "rejected request was passed on");
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest browse(String remoteAddr) {
+        return request("GET", "/api/products", remoteAddr);
+    }
+
+    private static MockHttpServletRequest search(String remoteAddr) {
+        return request("GET", "/api/products/search", remoteAddr);
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.security;
+
+import com.example.support.TestPostgres;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Request authorities come from the token's role claim, so renaming a role
+ * must reject the tokens issued under the old name rather than let them keep
+ * the old authority until they expire.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "rate-limit.enabled=false",
+        "warmup.enabled=false"
+})
+class RoleRenameTokenTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String ADMIN_ENDPOINT = "/api/admin/metrics/password-hashing";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestPostgres.register(registry, "role_rename");
+    }
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void renamingARoleRejectsTokensIssuedUnderTheOldName() throws Exception {
+        String oldToken = login("admin@estore.com");
+        HttpResponse<String> metrics = send("GET", ADMIN_ENDPOINT, null, oldToken);
+        assertEquals(200, metrics.statusCode(), metrics.body());
+
+        JsonNode adminRole = MAPPER.readTree(send("GET", "/api/roles/name/ROLE_ADMIN", null, oldToken).body());
+        HttpResponse<String> renamed = send("PUT", "/api/roles/" + adminRole.get("id").asLong(),
+                Map.of("name", "ROLE_FORMER_ADMIN", "description", "Renamed by the test"), oldToken);
+        assertEquals(200, renamed.statusCode(), renamed.body());
+
+        // The old token still says ROLE_ADMIN, but no longer authenticates
+        assertEquals(401, send("GET", ADMIN_ENDPOINT, null, oldToken).statusCode());
+        assertEquals(401, send("GET", "/api/roles", null, oldToken).statusCode());
+
+        // A new token carries the new name, which grants no admin access
+        String newToken = login("admin@estore.com");
+        assertEquals(200, send("GET", "/api/roles", null, newToken).statusCode());
+        assertEquals(403, send("GET", ADMIN_ENDPOINT, null, newToken).statusCode());
+    }
+
+    @Test
+    void updatingOnlyTheDescriptionKeepsTokensValid() throws Exception {
+        String token = login("john.doe@email.com");
+
+        JsonNode userRole = MAPPER.readTree(send("GET", "/api/roles/name/ROLE_USER", null, token).body());
+        HttpResponse<String> updated = send("PUT", "/api/roles/" + userRole.get("id").asLong(),
+                Map.of("name", "ROLE_USER", "description", "Described by the test"), token);
+        assertEquals(200, updated.statusCode(), updated.body());
+
+        assertEquals(200, send("GET", "/api/roles", null, token).statusCode());
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = send("POST", "/api/auth/login",
+                Map.of("email", email, "password", "password123"), null);
+        assertEquals(200, response.statusCode(), response.body());
+        return MAPPER.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body, String bearer) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps the application DataSource and, while recording, captures every
+ * statement the application executes together with its bound parameters.
+ *
+ * Import it into a Spring test, call {@link #start()}, exercise the code under
+ * test, then {@link #stop()} to get the statements back. Batched statements
+ * are recorded once per batch entry with {@code batched = true}. Rows read
+ * from result sets while recording are counted in {@link #rowsFetched()}.
+ */
+public class StatementRecorder implements BeanPostProcessor {
+
+    /**
+     * One parameter binding, e.g. {@code setLong(1, 42L)}, kept so it can be replayed.
+     */
+    public record Binding(Method setter, Object[] args) {
+        public void applyTo(PreparedStatement statement) throws SQLException {
+            invoke(statement, setter, args);
+        }
+    }
+
+    public record RecordedStatement(String sql, List<Binding> bindings, boolean batched) {
+        /**
+         * Prepare {@code prefix + sql} on the given connection with the same bindings.
+         */
+        public PreparedStatement replay(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (Binding binding : bindings) {
+                binding.applyTo(statement);
+            }
+            return statement;
+        }
+    }
+
+    private volatile boolean recording;
+    private final List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong rowsFetched = new AtomicLong();
+
+    public void start() {
+        statements.clear();
+        rowsFetched.set(0);
+        recording = true;
+    }
+
+    /**
+     * Rows read between the last {@link #start()} and {@link #stop()}.
+     */
+    public long rowsFetched() {
+        return rowsFetched.get();
+    }
+
+    public List<RecordedStatement> stop() {
+        recording = false;
+        synchronized (statements) {
+            List<RecordedStatement> recorded = List.copyOf(statements);
+            statements.clear();
+            return recorded;
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (p, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                return wrap(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        List<List<Binding>> batch = new ArrayList<>();
+        return proxy(PreparedStatement.class, (p, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.equals("addBatch") && args == null) {
+                batch.add(List.copyOf(bindings));
+                bindings.clear();
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                if (recording) {
+                    batch.forEach(entry -> statements.add(new RecordedStatement(sql, entry, true)));
+                }
+                batch.clear();
+            } else if (name.startsWith("execute") && args == null && recording) {
+                statements.add(new RecordedStatement(sql, List.copyOf(bindings), false));
+            }
+            Object result = invoke(statement, method, args);
+            return result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+        });
+    }
+
+    private ResultSet wrap(ResultSet resultSet) {
+        return proxy(ResultSet.class, (p, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (recording && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rowsFetched.incrementAndGet();
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A throwaway PostgreSQL server (same major version as docker-compose) shared
+ * by every test class in the JVM. Flyway builds the schema on it exactly as
+ * it does in production.
+ */
+public final class TestPostgres {
+
+    private static EmbeddedPostgres postgres;
+
+    private TestPostgres() {
+    }
+
+    public static synchronized EmbeddedPostgres get() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // JVM is exiting anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+
+    /**
+     * Point spring.datasource at the embedded server.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        register(registry, "postgres");
+    }
+
+    /**
+     * Point spring.datasource at a database of its own on the embedded server,
+     * for tests whose data must not leak into other test classes.
+     */
+    public static void register(DynamicPropertyRegistry registry, String database) {
+        createDatabase(database);
+        registry.add("spring.datasource.url", () -> get().getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static void createDatabase(String database) {
+        try (Connection connection = get().getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet existing = statement.executeQuery(
+                        "SELECT 1 FROM pg_database WHERE datname = '" + database + "'")) {
+            if (!existing.next()) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + database, e);
+        }
+    }
+}
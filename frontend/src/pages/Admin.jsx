@@ -1,4 +1,4 @@
-import { useState, useEffect, useMemo } from 'react';
+import { useState, useEffect, useMemo, useCallback } from 'react';
 import { api } from '../api/api';
 import { useDispatch, useSelector } from 'react-redux';
 import { fetchOrders, updateOrderStatus } from '../redux/orders/orderActions';
@@ -73,7 +73,7 @@ export default function Admin() {
 
   const { orders } = useSelector((state) => state.orders);
   const { products } = useSelector((state) => state.products);
-  const { users } = useSelector((state) => state.users);
+  const { users, usersNextCursor, loading: usersLoading } = useSelector((state) => state.users);
 
   //   const brandNames = [...new Set(products.map((p) => p.brand))];
   // const categoryNames = [...new Set(products.map((p) => p.category))];
@@ -122,10 +122,13 @@ const getCategoryName = (product) => {
     if (!products || products.length === 0) {
       dispatch(fetchProducts({ jwt: authToken }));
     }
-    if (!users || users.length === 0) {
-      dispatch(fetchUsers({ jwt: authToken }));
-    }
-  }, [dispatch, orders, products, users, authToken]);
+  }, [dispatch, orders, products, authToken]);
+
+  // Users are fetched a page at a time by UsersTable, only while its tab is open
+  const loadUsers = useCallback(
+    (params) => dispatch(fetchUsers({ jwt: authToken }, params)),
+    [dispatch, authToken]
+  );
 
   useEffect(() => {
     let isMounted = true;
@@ -391,7 +394,15 @@ const getCategoryName = (product) => {
             />
           )}
           {activeTab === 'inventory' && <InventoryTable products={products} onUpdate={handleUpdateStock} />}
-          {activeTab === 'users' && <UsersTable users={users} onManage={setSelectedItem} />}
+          {activeTab === 'users' && (
+            <UsersTable
+              users={users}
+              nextCursor={usersNextCursor}
+              loading={usersLoading}
+              onLoad={loadUsers}
+              onManage={async (u) => setSelectedItem(await api(`/api/users/${u.id}`))}
+            />
+          )}
         </div>
       </div>
 
@@ -660,37 +671,87 @@ function InventoryTable({ products, onUpdate }) {
   );
 }
 
-function UsersTable({ users, onManage }) {
+// One page of the user directory at a time; the search box sends q
+function UsersTable({ users, nextCursor, loading, onLoad, onManage }) {
+  const [search, setSearch] = useState('');
+  const [query, setQuery] = useState('');
+  // Cursor of every page visited so far (null for the first); the last is the current page
+  const [cursors, setCursors] = useState([null]);
+  const cursor = cursors[cursors.length - 1];
+
+  // Wait for typing to pause before searching, and start again from the first page
+  useEffect(() => {
+    if (search.trim() === query) return;
+    const timer = setTimeout(() => {
+      setQuery(search.trim());
+      setCursors([null]);
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [search, query]);
+
+  useEffect(() => {
+    // Failures are recorded in the users slice
+    onLoad({ q: query, cursor }).catch(() => {});
+  }, [onLoad, query, cursor]);
+
   const list = Array.isArray(users) ? users : [];
   return (
-    <table className="w-full text-left">
-      <thead className="bg-slate-50 border-b">
-        <tr>
-          <th className="p-4">Email</th>
-          <th className="p-4">Role</th>
-          <th className="p-4 text-right">Actions</th>
-        </tr>
-      </thead>
-      <tbody>
-        {list.length === 0 ? (
+    <div>
+      <div className="p-4 border-b">
+        <input
+          type="search"
+          value={search}
+          onChange={(e) => setSearch(e.target.value)}
+          placeholder="Search by username or email"
+          className="w-full md:w-80 p-2 rounded-lg border"
+        />
+      </div>
+      <table className="w-full text-left">
+        <thead className="bg-slate-50 border-b">
           <tr>
-            <td colSpan="3" className="p-6 text-center text-slate-500">
-              No users found.
-            </td>
+            <th className="p-4">Email</th>
+            <th className="p-4">Role</th>
+            <th className="p-4 text-right">Actions</th>
           </tr>
-        ) : (
-          list.map(u => (
-            <tr key={u.id} className="border-b">
-              <td className="p-4">{u.email}</td>
-              <td className="p-4 text-sm text-slate-500">{u.role?.name || 'Unknown'}</td>
-              <td className="p-4 text-right">
-                <button onClick={() => onManage(u)} className="text-indigo-600 font-medium">Edit Info</button>
+        </thead>
+        <tbody>
+          {list.length === 0 ? (
+            <tr>
+              <td colSpan="3" className="p-6 text-center text-slate-500">
+                {loading ? 'Loading users...' : 'No users found.'}
               </td>
             </tr>
-          ))
-        )}
-      </tbody>
-    </table>
+          ) : (
+            list.map(u => (
+              <tr key={u.id} className="border-b">
+                <td className="p-4">{u.email}</td>
+                <td className="p-4 text-sm text-slate-500">{u.role?.name || 'Unknown'}</td>
+                <td className="p-4 text-right">
+                  <button onClick={() => onManage(u)} className="text-indigo-600 font-medium">Edit Info</button>
+                </td>
+              </tr>
+            ))
+          )}
+        </tbody>
+      </table>
+      <div className="flex items-center justify-between p-4">
+        <button
+          onClick={() => setCursors((prev) => prev.slice(0, -1))}
+          disabled={loading || cursors.length === 1}
+          className="px-3 py-1 rounded border text-sm disabled:opacity-40"
+        >
+          Previous
+        </button>
+        <span className="text-sm text-slate-500">Page {cursors.length}</span>
+        <button
+          onClick={() => setCursors((prev) => [...prev, nextCursor])}
+          disabled={loading || nextCursor == null}
+          className="px-3 py-1 rounded border text-sm disabled:opacity-40"
+        >
+          Next
+        </button>
+      </div>
+    </div>
   );
 }
 
@@ -1,8 +1,10 @@
 import { api } from '../../api/api';
 import * as types from './userActionTypes';
 
-// Fetch All Users (Admin)
-export const fetchUsers = (auth) => async (dispatch) => {
+// Fetch one page of the user directory (Admin)
+// The directory is keyset-paginated: pass the previous page's nextCursor as
+// cursor to get the next page, and q to filter by username/email prefix.
+export const fetchUsers = (auth, { q = '', cursor = null, limit = 50 } = {}) => async (dispatch) => {
   dispatch({ type: types.FETCH_USERS_REQUEST });
 
   try {
@@ -10,14 +12,20 @@ export const fetchUsers = (auth) => async (dispatch) => {
     const jwt = typeof auth === 'string' ? auth : (auth && auth.jwt) ? auth.jwt : null;
     const options = jwt ? { headers: { Authorization: `Bearer ${jwt}` } } : undefined;
 
-    const users = await api('/api/users', options);
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (q && q.trim()) params.set('q', q.trim());
+    if (cursor != null) params.set('cursor', String(cursor));
+    const page = await api(`/api/users?${params}`, options);
 
+    const payload = {
+      items: page?.items || [],
+      nextCursor: page?.nextCursor ?? null,
+    };
     dispatch({
       type: types.FETCH_USERS_SUCCESS,
-      payload: users,
+      payload,
     });
-    console.log('Users successfully fetched in action ---->', users);
-    return users;
+    return payload;
   } catch (error) {
     dispatch({
       type: types.FETCH_USERS_FAILURE,
@@ -1,7 +1,9 @@
 import * as types from './userActionTypes';
 
 const initialState = {
+  // Current page of the user directory
   users: [],
+  usersNextCursor: null,
   currentUserProfile: null,
   loading: false,
   error: null,
@@ -23,7 +25,8 @@ const userReducer = (state = initialState, action) => {
     case types.FETCH_USERS_SUCCESS:
       return {
         ...state,
-        users: action.payload,
+        users: action.payload.items,
+        usersNextCursor: action.payload.nextCursor,
         loading: false,
         error: null,
       };